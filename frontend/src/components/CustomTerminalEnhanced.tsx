@@ -49,8 +49,12 @@ const CustomTerminalEnhanced: React.FC<CustomTerminalEnhancedProps> = ({
   const [secretsUnlocked, setSecretsUnlocked] = useState<string[]>([]);
   const [resumeDownloadUrl, setResumeDownloadUrl] = useState('/api/content/resume/download');
   const [resumeTextCache, setResumeTextCache] = useState<string | null>(null);
+  const [resumeCacheCols, setResumeCacheCols] = useState<number | null>(null);
   const inputRef = useRef<HTMLInputElement>(null);
   const terminalRef = useRef<HTMLDivElement>(null);
+  // Static server details are fetched once; CPU, memory and uptime arrive live over SSE
+  const serverInfoRef = useRef<any>(null);
+  const liveServerRef = useRef<any>(null);
   const { currentTheme, changeTheme, getTheme, listThemes } = useTheme();
 
   // File system structure - will be loaded dynamically
@@ -67,6 +71,25 @@ const CustomTerminalEnhanced: React.FC<CustomTerminalEnhancedProps> = ({
     }
   });
 
+  // How many monospace characters fit across the terminal; the server lays content out to fit
+  const terminalColumns = () => {
+    const element = terminalRef.current;
+    if (!element) {
+      return 80;
+    }
+    const style = window.getComputedStyle(element);
+    const probe = document.createElement('span');
+    probe.style.font = style.font;
+    probe.style.position = 'absolute';
+    probe.style.visibility = 'hidden';
+    probe.textContent = 'M'.repeat(100);
+    document.body.appendChild(probe);
+    const charWidth = probe.getBoundingClientRect().width / 100 || 8;
+    probe.remove();
+    const padding = parseFloat(style.paddingLeft) + parseFloat(style.paddingRight);
+    return Math.max(20, Math.floor((element.clientWidth - padding) / charWidth));
+  };
+
   const unlockSecret = (secret: string) => {
     if (!secretsUnlocked.includes(secret)) {
       setSecretsUnlocked(prev => [...prev, secret]);
@@ -80,17 +103,19 @@ const CustomTerminalEnhanced: React.FC<CustomTerminalEnhancedProps> = ({
       return 'Opening resume PDF in a new tab...';
     }
 
-    if (resumeTextCache) {
+    const cols = terminalColumns();
+    if (resumeTextCache && resumeCacheCols === cols) {
       return resumeTextCache;
     }
 
     try {
-      const response = await axios.get<ResumeApiResponse>('/api/content/resume');
+      const response = await axios.get<ResumeApiResponse>('/api/content/resume', { params: { cols } });
       if (response.data?.downloadUrl) {
         setResumeDownloadUrl(response.data.downloadUrl);
       }
       if (response.data?.text) {
         setResumeTextCache(response.data.text);
+        setResumeCacheCols(cols);
         return response.data.text;
       }
       if (response.data?.error) {
@@ -170,8 +195,11 @@ User Agent: ${navigator.userAgent}`,
 
     neofetch: async () => {
       try {
-        const serverResponse = await axios.get('/api/server/info');
-        return asciiArt.neofetch(clientInfo, serverResponse.data);
+        if (!serverInfoRef.current) {
+          const serverResponse = await axios.get('/api/server/info');
+          serverInfoRef.current = serverResponse.data;
+        }
+        return asciiArt.neofetch(clientInfo, { ...serverInfoRef.current, ...liveServerRef.current });
       } catch (error) {
         console.error('Error fetching server info:', error);
         return asciiArt.neofetch(clientInfo, null);
@@ -301,6 +329,7 @@ Usage: theme <name>`;
             params: { term: searchTerm } 
           });
           const blogs = response.data;
+          const total = Number(response.headers['x-total-count'] ?? blogs.length);
           
           if (blogs.length === 0) {
             return `No blog posts found matching "${searchTerm}"`;
@@ -309,11 +338,14 @@ Usage: theme <name>`;
           let output = `\nSearch results for "${searchTerm}":\n\n`;
           blogs.forEach((blog: any, index: number) => {
             output += `${index + 1}. ${blog.title}\n`;
-            if (blog.excerpt) {
-              output += `   ${blog.excerpt}\n`;
+            if (blog.snippet || blog.excerpt) {
+              output += `   ${blog.snippet || blog.excerpt}\n`;
             }
             output += `   Read: ./blog/${blog.filename.replace('.md', '')}\n\n`;
           });
+          if (total > blogs.length) {
+            output += `Showing ${blogs.length} of ${total} matches\n`;
+          }
           
           return output;
         } else {
@@ -361,12 +393,14 @@ Usage: theme <name>`;
           output += '\nUsage: portfolio --filter <tech> to filter by technology';
           return output;
         } else if (args.startsWith('--filter ') || args.startsWith('-f ')) {
-          // Filter portfolio by technology
+          // Filter portfolio by technology: "a,b" needs both, "a|b" either
           const tech = args.replace(/^(-f|--filter)\s+/, '');
-          const response = await axios.get('/api/content/portfolio/filter', { 
-            params: { tech } 
-          });
-          const projects = response.data;
+          const any = tech.includes('|');
+          const params = new URLSearchParams();
+          tech.split(any ? '|' : ',').map(t => t.trim()).filter(Boolean).forEach(t => params.append('tech', t));
+          params.append('match', any ? 'any' : 'all');
+          const response = await axios.get('/api/content/portfolio/filter', { params });
+          const { projects, facets } = response.data;
           
           if (projects.length === 0) {
             return `No projects found using "${tech}"`;
@@ -381,9 +415,14 @@ Usage: theme <name>`;
             output += `   View: ./portfolio/${project.filename.replace('.md', '')}\n\n`;
           });
           
+          const related = Object.entries(facets?.tech ?? {}).slice(0, 8);
+          if (related.length > 0) {
+            output += `Also used: ${related.map(([name, count]) => `${name} (${count})`).join(', ')}\n`;
+          }
+          
           return output;
         } else {
-          return `Unknown option: ${args}\n\nUsage:\n  portfolio               - List all projects\n  portfolio --filter <tech> - Filter by technology`;
+          return `Unknown option: ${args}\n\nUsage:\n  portfolio               - List all projects\n  portfolio --filter <tech> - Filter by technology (a,b = both, a|b = either)`;
         }
       } catch (error) {
         return 'Error fetching portfolio projects';
@@ -808,7 +847,9 @@ Let's build something amazing.`;
     }
 
     try {
-      const response = await axios.get(`/api/content/file?path=${contentPath}`);
+      const response = await axios.get('/api/content/file', {
+        params: { path: contentPath, cols: terminalColumns() }
+      });
       return response.data.content || 'Content not available';
     } catch (error: any) {
       console.error('Error loading content:', error);
@@ -983,6 +1024,14 @@ Let's build something amazing.`;
       });
   };
 
+  useEffect(() => {
+    const events = new EventSource('/api/server/stream');
+    events.onmessage = (event) => {
+      liveServerRef.current = JSON.parse(event.data);
+    };
+    return () => events.close();
+  }, []);
+
   useEffect(() => {
     if (inputRef.current) {
       inputRef.current.focus();
@@ -6,19 +6,31 @@ interface BlogPost {
   id: number;
   title: string;
   summary: string;
-  content: string;
   author: string;
   createdDate: string;
   tags: string;
 }
 
+interface BlogPostPage {
+  posts: BlogPost[];
+  nextCursor: string | null;
+}
+
 const Blog = () => {
   const [posts, setPosts] = useState<BlogPost[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
-  useEffect(() => {
-    axios.get('/api/blog')
-      .then(response => setPosts(response.data))
+  const loadPage = (cursor: string | null) => {
+    axios.get<BlogPostPage>('/api/blog/page', { params: cursor ? { cursor } : {} })
+      .then(response => {
+        setPosts(previous => cursor ? [...previous, ...response.data.posts] : response.data.posts);
+        setNextCursor(response.data.nextCursor);
+      })
       .catch(error => console.error('Error fetching blog posts:', error));
+  };
+
+  useEffect(() => {
+    loadPage(null);
   }, []);
 
   return (
@@ -73,6 +85,16 @@ const Blog = () => {
               No blog posts yet. Stay tuned!
             </motion.p>
           )}
+          {nextCursor && (
+            <div className="text-center">
+              <button
+                onClick={() => loadPage(nextCursor)}
+                className="bg-white/10 hover:bg-white/20 text-white px-6 py-2 rounded-full"
+              >
+                Load more
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </motion.div>
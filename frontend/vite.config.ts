@@ -1,11 +1,48 @@
-import { defineConfig } from 'vite'
+import { defineConfig, type Plugin } from 'vite'
 import react from '@vitejs/plugin-react'
+import { readdirSync, readFileSync, statSync, writeFileSync } from 'node:fs'
+import { join } from 'node:path'
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib'
+
+const outDir = '../src/main/resources/static'
+
+// Write .br and .gz copies next to every text asset once at build time; the backend serves
+// them to clients that accept them (spring.web.resources.chain.compressed) instead of
+// compressing per request
+function precompress(): Plugin {
+  const compressible = /\.(html|js|mjs|css|json|svg|txt|xml|map)$/
+  const walk = (dir: string): string[] =>
+    readdirSync(dir).flatMap((name) => {
+      const path = join(dir, name)
+      return statSync(path).isDirectory() ? walk(path) : [path]
+    })
+
+  return {
+    name: 'precompress',
+    apply: 'build',
+    closeBundle() {
+      for (const file of walk(outDir).filter((f) => compressible.test(f))) {
+        const source = readFileSync(file)
+        if (source.length < 1024) continue
+        const brotli = brotliCompressSync(source, {
+          params: {
+            [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+            [constants.BROTLI_PARAM_SIZE_HINT]: source.length,
+          },
+        })
+        const gzip = gzipSync(source, { level: 9 })
+        if (brotli.length < source.length) writeFileSync(`${file}.br`, brotli)
+        if (gzip.length < source.length) writeFileSync(`${file}.gz`, gzip)
+      }
+    },
+  }
+}
 
 // https://vitejs.dev/config/
 export default defineConfig({
-  plugins: [react()],
+  plugins: [react(), precompress()],
   build: {
-    outDir: '../src/main/resources/static',
+    outDir,
     emptyOutDir: true,
   },
   server: {
@@ -0,0 +1,124 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent-write load test for /api/blog. Writers create and update posts in a closed loop while
+ * readers hit a cheap endpoint that shares the event loops, so blocking persistence shows up as
+ * tail latency on both. Run against a started app (Java 21+, no build needed):
+ *
+ *   java scripts/BlogLoadTest.java [baseUrl] [writers] [readers] [seconds]
+ *   java scripts/BlogLoadTest.java http://localhost:8080 64 16 20
+ */
+public class BlogLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int readers = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        // Warm up the JIT and connection pools before measuring
+        run(client, baseUrl, writers, readers, Math.max(2, seconds / 4), new Samples(), new Samples());
+
+        Samples writes = new Samples();
+        Samples reads = new Samples();
+        run(client, baseUrl, writers, readers, seconds, writes, reads);
+
+        System.out.printf("%d writers, %d readers, %ds against %s%n", writers, readers, seconds, baseUrl);
+        writes.print("POST/PUT /api/blog");
+        reads.print("GET /api/contact");
+    }
+
+    private static void run(HttpClient client, String baseUrl, int writers, int readers, int seconds,
+                            Samples writes, Samples reads) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicInteger sequence = new AtomicInteger();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        int n = sequence.incrementAndGet();
+                        String body = "{\"title\":\"Load " + n + "\",\"summary\":\"load test\",\"content\":\""
+                                + "x".repeat(512) + "\",\"tags\":\"load\"}";
+                        HttpRequest create = HttpRequest.newBuilder(URI.create(baseUrl + "/api/blog"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build();
+                        String created = writes.time(client, create);
+                        String id = created == null ? null : created.replaceAll("(?s).*\"id\":(\\d+).*", "$1");
+                        if (id != null && id.matches("\\d+")) {
+                            HttpRequest update = HttpRequest.newBuilder(URI.create(baseUrl + "/api/blog/" + id))
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString(body.replace("Load", "Updated")))
+                                    .build();
+                            writes.time(client, update);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < readers; i++) {
+                workers.submit(() -> {
+                    HttpRequest read = HttpRequest.newBuilder(URI.create(baseUrl + "/api/contact")).GET().build();
+                    while (System.nanoTime() < deadline) {
+                        reads.time(client, read);
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private static final class Samples {
+        private final ConcurrentLinkedQueue<Long> nanos = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger errors = new AtomicInteger();
+
+        String time(HttpClient client, HttpRequest request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                nanos.add(System.nanoTime() - start);
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                    return null;
+                }
+                return response.body();
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                return null;
+            }
+        }
+
+        void print(String label) {
+            List<Long> sorted = new ArrayList<>(nanos);
+            long[] values = sorted.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(values);
+            System.out.printf("  %-20s n=%-7d errors=%-4d p50=%7.2fms p99=%7.2fms max=%7.2fms%n",
+                    label, values.length, errors.get(),
+                    percentile(values, 0.50), percentile(values, 0.99), percentile(values, 1.0));
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Time from launching the app to its first successful content response, for each way of starting
+ * it: the fat jar, the extracted jar, extracted with the AppCDS archive, with Spring AOT, and with
+ * both. Build with the aot profile first so every mode has its inputs (modes that don't are
+ * skipped), then run with the same JVM that wrote the archive (Java 21+, no build needed):
+ *
+ *   ./mvnw -Paot -Dexec.skip=true package
+ *   java scripts/StartupBenchmark.java [runs] [url]
+ *   java scripts/StartupBenchmark.java 5 "http://localhost:8080/api/content/file?path=blog/About.md"
+ */
+public class StartupBenchmark {
+
+    private static final Duration GIVE_UP = Duration.ofSeconds(120);
+
+    record Mode(String name, Path directory, List<String> arguments) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        URI url = URI.create(args.length > 1 ? args[1] : "http://localhost:8080/api/content/file?path=blog/About.md");
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> common = List.of("-Dserver.port=" + url.getPort());
+        List<Mode> modes = modes(Path.of("target"));
+        if (modes.isEmpty()) {
+            System.err.println("No jar in target/; build it first with ./mvnw -Paot -Dexec.skip=true package");
+            System.exit(1);
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        System.out.printf("%-12s %8s %8s %8s   (ms to first response, %d runs)%n", "mode", "min", "median", "max", runs);
+        for (Mode mode : modes) {
+            List<Long> samples = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                command.addAll(common);
+                command.addAll(mode.arguments());
+                samples.add(timeToFirstResponse(command, mode.directory(), client, url));
+            }
+            samples.sort(null);
+            System.out.printf("%-12s %8d %8d %8d%n", mode.name(), samples.getFirst(), samples.get(samples.size() / 2),
+                    samples.getLast());
+        }
+    }
+
+    private static List<Mode> modes(Path target) throws IOException {
+        List<Mode> modes = new ArrayList<>();
+        Path jar;
+        try (Stream<Path> files = Files.list(target)) {
+            jar = files.filter(p -> p.getFileName().toString().endsWith(".jar")).findFirst().orElse(null);
+        }
+        if (jar == null) {
+            return modes;
+        }
+        String name = jar.getFileName().toString();
+        modes.add(new Mode("jar", target, List.of("-jar", name)));
+
+        Path application = target.resolve("application");
+        if (Files.isRegularFile(application.resolve(name))) {
+            modes.add(new Mode("extracted", application, List.of("-jar", name)));
+            modes.add(new Mode("aot", application, List.of("-Dspring.aot.enabled=true", "-jar", name)));
+        }
+        if (Files.isRegularFile(application.resolve("application.jsa"))) {
+            modes.add(new Mode("cds", application, List.of("-XX:SharedArchiveFile=application.jsa", "-jar", name)));
+            modes.add(new Mode("cds+aot", application, List.of("-XX:SharedArchiveFile=application.jsa",
+                    "-Dspring.aot.enabled=true", "-jar", name)));
+        }
+        return modes;
+    }
+
+    private static long timeToFirstResponse(List<String> command, Path directory, HttpClient client, URI url)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(2)).build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < GIVE_UP.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("App exited with " + process.exitValue() + ": " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException notListeningYet) {
+                    // Keep polling until the port is open
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No response from " + url + " within " + GIVE_UP.toSeconds() + " s");
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+}
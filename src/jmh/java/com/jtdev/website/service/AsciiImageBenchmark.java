@@ -0,0 +1,73 @@
+package com.jtdev.website.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaled image to ASCII glyphs: the old per-pixel getRGB loop against {@link AsciiImageKernel}.
+ * The image is decoded and scaled once per width, so those two only measure the glyph loop;
+ * generateAsciiArt covers the whole miss path (decode, scale, glyphs) per image size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsciiImageBenchmark {
+
+    private static final String RAMP = "@%#*+=-:. ";
+
+    @Param({"80", "160", "320"})
+    public int columns;
+
+    private byte[] encoded;
+    private BufferedImage scaled;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = new ClassPathResource("directories/blog/298090299.jpg").getInputStream()) {
+            encoded = in.readAllBytes();
+        }
+        scaled = AsciiImageKernel.scale(ImageIO.read(new ByteArrayInputStream(encoded)), columns);
+    }
+
+    @Benchmark
+    public String getRgbLoop() {
+        // The loop generateAsciiArt used before the kernel, kept verbatim
+        int width = scaled.getWidth();
+        int height = scaled.getHeight();
+        StringBuilder ascii = new StringBuilder();
+        String chars = RAMP;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = scaled.getRGB(x, y);
+                int r = (rgb >> 16) & 0xff;
+                int g = (rgb >> 8) & 0xff;
+                int b = rgb & 0xff;
+                int gray = (r + g + b) / 3;
+                int index = gray * (chars.length() - 1) / 255;
+                ascii.append(chars.charAt(chars.length() - 1 - index));
+            }
+            ascii.append("\n");
+        }
+        return "\n" + ascii.toString() + "\n";
+    }
+
+    @Benchmark
+    public String kernel() {
+        return AsciiImageKernel.glyphs(scaled, RAMP);
+    }
+
+    @Benchmark
+    public String generateAsciiArt() throws IOException {
+        return AsciiImageKernel.render(ImageIO.read(new ByteArrayInputStream(encoded)), columns, RAMP);
+    }
+}
@@ -0,0 +1,85 @@
+package com.jtdev.website.service;
+
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The layout-heavy parts of the ASCII renderer on generated documents: tables that are wide
+ * (columns squeezed to fit) or tall (many rows), and lists nested deeply. Documents are parsed
+ * once, so only the AST walk is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsciiLayoutBenchmark {
+
+    private static final Function<String, String> NO_IMAGES = src -> "[Image]";
+
+    @Param({"wideTable", "tallTable", "nestedList"})
+    public String shape;
+
+    // 0 lays out unwrapped, as for requests without cols
+    @Param({"0", "80"})
+    public int width;
+
+    private Document document;
+    private AsciiDocumentRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        String markdown = switch (shape) {
+            case "wideTable" -> table(16, 20);
+            case "tallTable" -> table(4, 500);
+            case "nestedList" -> nestedList(12, 4);
+            default -> throw new IllegalArgumentException(shape);
+        };
+        MutableDataSet options = new MutableDataSet();
+        options.set(Parser.EXTENSIONS, List.of(TablesExtension.create()));
+        document = Parser.builder(options).build().parse(markdown);
+        renderer = new AsciiDocumentRenderer();
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(document, width, NO_IMAGES);
+    }
+
+    private static String table(int columns, int rows) {
+        StringBuilder markdown = new StringBuilder("|");
+        for (int c = 0; c < columns; c++) {
+            markdown.append(" Column ").append(c).append(" |");
+        }
+        markdown.append("\n|").append("---|".repeat(columns)).append('\n');
+        for (int r = 0; r < rows; r++) {
+            markdown.append('|');
+            for (int c = 0; c < columns; c++) {
+                markdown.append(" row ").append(r).append(" cell ").append(c).append(" with some words |");
+            }
+            markdown.append('\n');
+        }
+        return markdown.toString();
+    }
+
+    private static String nestedList(int depth, int itemsPerLevel) {
+        StringBuilder markdown = new StringBuilder();
+        for (int item = 0; item < itemsPerLevel; item++) {
+            for (int level = 0; level < depth; level++) {
+                markdown.append("  ".repeat(level))
+                        .append(level % 2 == 0 ? "- " : "1. ")
+                        .append("Item ").append(item).append(" at level ").append(level)
+                        .append(" with enough words to wrap at narrower widths\n");
+            }
+        }
+        return markdown.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the stage instrumentation costs. renderMarkdown runs against a registry with no backends
+ * (every meter a no-op) and against the Prometheus registry the app uses; recordStages is just the
+ * meter updates one render makes (a read, an image and the render itself). The budget is
+ * recordStages under 1% of renderMarkdown, and the two renderMarkdown scores within noise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentMetricsBenchmark {
+
+    private static final String PATH = "blog/About.md";
+
+    @Param({"noop", "prometheus"})
+    public String registry;
+
+    private ContentService contentService;
+    private ContentMetrics.Stages stages;
+    private String markdown;
+
+    @Setup
+    public void setUp() throws IOException {
+        MeterRegistry meterRegistry = registry.equals("prometheus")
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+        contentService = new ContentService(new DefaultResourceLoader(), new ContentProperties(), meterRegistry);
+        stages = new ContentMetrics(meterRegistry).stages(PATH);
+        markdown = new ClassPathResource("directories/" + PATH).getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        contentService.close();
+    }
+
+    @Benchmark
+    public String renderMarkdown() {
+        return contentService.renderMarkdown(markdown, PATH, 80);
+    }
+
+    @Benchmark
+    public void recordStages() {
+        stages.read(12_000, 3_198);
+        stages.image(250_000);
+        stages.rendered(400_000, 900_000, 1, 6_320);
+    }
+}
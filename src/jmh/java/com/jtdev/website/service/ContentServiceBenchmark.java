@@ -0,0 +1,82 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ContentService over the real directories/ files: a served (cached) file, a full render that
+ * bypasses the document cache (image renditions stay cached), and the metadata parsing done
+ * while indexing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentServiceBenchmark {
+
+    @Param({"blog/About.md", "portfolio/DTE-Rates-for-Home-Assistant.md", "portfolio/Tesla Automatic Preconditioning.md"})
+    public String path;
+
+    private ContentService contentService;
+    private String markdown;
+
+    /**
+     * The terminal width for the layout benchmarks only; 0 is the unwrapped output sent without cols.
+     */
+    @State(Scope.Benchmark)
+    public static class Layout {
+        @Param({"0", "80"})
+        public int cols;
+
+        Integer cols() {
+            return cols == 0 ? null : cols;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        contentService = new ContentService(new DefaultResourceLoader(), new ContentProperties(), new SimpleMeterRegistry());
+        contentService.start();
+        markdown = new ClassPathResource("directories/" + path).getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        contentService.close();
+    }
+
+    @Benchmark
+    public String getMarkdownContent(Layout layout) throws IOException {
+        return contentService.getMarkdownContent(path, layout.cols());
+    }
+
+    @Benchmark
+    public String renderMarkdown(Layout layout) {
+        return contentService.renderMarkdown(markdown, path, ContentService.widthBucket(layout.cols()));
+    }
+
+    @Benchmark
+    public Map<String, String> parseFrontmatter() {
+        return contentService.parseFrontmatter(markdown);
+    }
+
+    @Benchmark
+    public Map<String, String> parseHeaderLines() {
+        return contentService.parseHeaderLines(markdown);
+    }
+
+    @Benchmark
+    public String extractExcerpt() {
+        return contentService.extractExcerpt(markdown);
+    }
+}
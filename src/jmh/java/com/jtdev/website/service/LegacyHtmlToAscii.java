@@ -0,0 +1,311 @@
+package com.jtdev.website.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.*;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The HTML + regex conversion chain that {@link AsciiDocumentRenderer} replaced, kept verbatim
+ * as the baseline for {@link MarkdownRenderBenchmark}. Not used by the application.
+ */
+class LegacyHtmlToAscii {
+
+    private final Function<String, String> images;
+
+    LegacyHtmlToAscii(Function<String, String> images) {
+        this.images = images;
+    }
+
+    String convertHtmlToAscii(String html) {
+        // First pass: Convert headers with dynamic borders
+        html = convertDynamicHeaders(html);
+
+        html = formatNestedLists(html);
+
+        // Convert tables before the general regex pass
+        html = convertTablesToAscii(html);
+
+        // Convert HTML elements to ASCII formatting
+        String text = html
+            // Headers already converted above
+            .replaceAll("<h3[^>]*>([^<]*)</h3>", "\n**$1**\n")
+            .replaceAll("<h4[^>]*>([^<]*)</h4>", "\n**$1**\n")
+            .replaceAll("<h5[^>]*>([^<]*)</h5>", "\n**$1**\n")
+            .replaceAll("<h6[^>]*>([^<]*)</h6>", "\n**$1**\n")
+
+            // Lists
+            .replaceAll("<ul[^>]*>", "")
+            .replaceAll("</ul>", "")
+            .replaceAll("<ol[^>]*>", "")
+            .replaceAll("</ol>", "")
+
+            // Paragraphs
+            .replaceAll("<p[^>]*>", "")
+            .replaceAll("</p>", "\n\n")
+
+            // Line breaks
+            .replaceAll("<br[^>]*>", "\n")
+
+            // Links (simplified)
+            .replaceAll("<a[^>]*href=\"([^\"]*)\"[^>]*>([^<]*)</a>", "$2 ($1)")
+
+            // Code blocks
+            .replaceAll("<pre[^>]*><code[^>]*>", "\n```\n")
+            .replaceAll("</code></pre>", "\n```\n")
+
+            // Inline code
+            .replaceAll("<code[^>]*>([^<]*)</code>", "`$1`")
+
+            // Bold and italic
+            .replaceAll("<strong[^>]*>([^<]*)</strong>", "**$1**")
+            .replaceAll("<em[^>]*>([^<]*)</em>", "*$1*");
+
+        // Handle images with ASCII art
+        Pattern imgPattern = Pattern.compile("<img[^>]*src=\"([^\"]*)\"[^>]*>");
+        Matcher matcher = imgPattern.matcher(text);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            String src = matcher.group(1);
+            String ascii = images.apply(src);
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(ascii));
+        }
+        matcher.appendTail(sb);
+        text = sb.toString();
+
+        // Handle images without src
+        text = text.replaceAll("<img[^>]*>", "[Image]");
+
+        text = text
+            // Remove any remaining HTML tags
+            .replaceAll("<[^>]+>", "")
+
+            // Clean up entities and extra whitespace
+            .replaceAll("&[^;]+;", "")
+            .replaceAll("\\n\\s+", "\n")
+            .replaceAll("\\s+\\n", "\n")
+            .replaceAll("\\n{3,}", "\n\n")
+            .trim();
+
+        return text;
+    }
+
+    private String formatNestedLists(String html) {
+        Pattern pattern = Pattern.compile("(?is)<(ul|ol)[^>]*>|</(ul|ol)>|<li[^>]*>|</li>");
+        Matcher matcher = pattern.matcher(html);
+        StringBuilder result = new StringBuilder();
+        Deque<ListContext> stack = new ArrayDeque<>();
+        int lastEnd = 0;
+
+        while (matcher.find()) {
+            result.append(html, lastEnd, matcher.start());
+            String tag = matcher.group();
+            String normalized = tag.toLowerCase(Locale.ROOT);
+
+            if (normalized.startsWith("<ul")) {
+                stack.push(ListContext.unordered());
+            } else if (normalized.startsWith("<ol")) {
+                stack.push(ListContext.ordered());
+            } else if (normalized.startsWith("</ul") || normalized.startsWith("</ol")) {
+                if (!stack.isEmpty()) {
+                    stack.pop();
+                }
+                ensureTrailingNewline(result);
+            } else if (normalized.startsWith("<li")) {
+                ensureTrailingNewline(result);
+                result.append(buildListPrefix(stack));
+            } else if (normalized.startsWith("</li")) {
+                ensureTrailingNewline(result);
+            }
+
+            lastEnd = matcher.end();
+        }
+
+        result.append(html.substring(lastEnd));
+        return result.toString();
+    }
+
+    private void ensureTrailingNewline(StringBuilder builder) {
+        int length = builder.length();
+        if (length == 0 || builder.charAt(length - 1) != '\n') {
+            builder.append('\n');
+        }
+    }
+
+    private String buildListPrefix(Deque<ListContext> stack) {
+        int depth = stack.isEmpty() ? 1 : stack.size();
+        int indentSpaces = depth * 2;
+        String indent = indentSpaces > 0 ? " ".repeat(indentSpaces) : "";
+        ListContext context = stack.peek();
+
+        if (context != null && context.isOrdered()) {
+            int index = context.nextIndex();
+            return indent + index + ". ";
+        }
+
+        String[] bullets = {"•", "◦", "▪", "▹", "▸"};
+        String bullet = bullets[Math.min(depth - 1, bullets.length - 1)];
+        return indent + bullet + " ";
+    }
+
+    private static class ListContext {
+        private final boolean ordered;
+        private int index;
+
+        private ListContext(boolean ordered) {
+            this.ordered = ordered;
+        }
+
+        static ListContext ordered() {
+            return new ListContext(true);
+        }
+
+        static ListContext unordered() {
+            return new ListContext(false);
+        }
+
+        boolean isOrdered() {
+            return ordered;
+        }
+
+        int nextIndex() {
+            index++;
+            return index;
+        }
+    }
+
+    private String convertTablesToAscii(String html) {
+        Pattern tablePattern = Pattern.compile("<table[^>]*>(.*?)</table>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+        Matcher tableMatcher = tablePattern.matcher(html);
+        StringBuffer sb = new StringBuffer();
+        while (tableMatcher.find()) {
+            String asciiTable = renderTableAsAscii(tableMatcher.group(1));
+            tableMatcher.appendReplacement(sb, Matcher.quoteReplacement(asciiTable));
+        }
+        tableMatcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private String renderTableAsAscii(String tableHtml) {
+        List<List<String>> rows = new ArrayList<>();
+
+        Pattern rowPattern = Pattern.compile("<tr[^>]*>(.*?)</tr>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+        Matcher rowMatcher = rowPattern.matcher(tableHtml);
+        while (rowMatcher.find()) {
+            List<String> cells = new ArrayList<>();
+            Pattern cellPattern = Pattern.compile("<t[hd][^>]*>(.*?)</t[hd]>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+            Matcher cellMatcher = cellPattern.matcher(rowMatcher.group(1));
+            while (cellMatcher.find()) {
+                String cell = cellMatcher.group(1)
+                    .replaceAll("<[^>]+>", "")
+                    .replaceAll("&amp;", "&").replaceAll("&lt;", "<")
+                    .replaceAll("&gt;", ">").replaceAll("&quot;", "\"")
+                    .replaceAll("&#39;", "'").replaceAll("&nbsp;", " ")
+                    .trim();
+                cells.add(cell);
+            }
+            if (!cells.isEmpty()) rows.add(cells);
+        }
+
+        if (rows.isEmpty()) return "";
+
+        int numCols = rows.stream().mapToInt(List::size).max().orElse(0);
+        int[] colWidths = new int[numCols];
+        for (List<String> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                colWidths[i] = Math.max(colWidths[i], row.get(i).length());
+            }
+        }
+
+        StringBuilder ascii = new StringBuilder("\n");
+
+        // Top border
+        ascii.append("┌");
+        for (int i = 0; i < numCols; i++) {
+            ascii.append("─".repeat(colWidths[i] + 2));
+            ascii.append(i < numCols - 1 ? "┬" : "┐");
+        }
+        ascii.append("\n");
+
+        for (int r = 0; r < rows.size(); r++) {
+            List<String> row = rows.get(r);
+            ascii.append("│");
+            for (int i = 0; i < numCols; i++) {
+                String cell = i < row.size() ? row.get(i) : "";
+                ascii.append(" ").append(cell).append(" ".repeat(colWidths[i] - cell.length() + 1)).append("│");
+            }
+            ascii.append("\n");
+
+            if (r == 0 && rows.size() > 1) {
+                // Header separator
+                ascii.append("├");
+                for (int i = 0; i < numCols; i++) {
+                    ascii.append("─".repeat(colWidths[i] + 2));
+                    ascii.append(i < numCols - 1 ? "┼" : "┤");
+                }
+                ascii.append("\n");
+            } else if (r == rows.size() - 1) {
+                // Bottom border
+                ascii.append("└");
+                for (int i = 0; i < numCols; i++) {
+                    ascii.append("─".repeat(colWidths[i] + 2));
+                    ascii.append(i < numCols - 1 ? "┴" : "┘");
+                }
+                ascii.append("\n");
+            }
+        }
+
+        return ascii.toString();
+    }
+
+    private String convertDynamicHeaders(String html) {
+        // Convert H1 headers with dynamic borders
+        Pattern h1Pattern = Pattern.compile("<h1[^>]*>(.*?)</h1>", Pattern.DOTALL);
+        Matcher h1Matcher = h1Pattern.matcher(html);
+        StringBuffer sb1 = new StringBuffer();
+        while (h1Matcher.find()) {
+            String headerText = sanitizeHeaderText(h1Matcher.group(1));
+            int textLength = headerText.length();
+            int totalWidth = textLength + 4; // 2 spaces on each side
+            
+            String topBorder = "\n╔" + "═".repeat(totalWidth) + "╗\n";
+            String content = "║  " + headerText + "  ║\n";
+            String bottomBorder = "╚" + "═".repeat(totalWidth) + "╝\n";
+            
+            String replacement = topBorder + content + bottomBorder;
+            h1Matcher.appendReplacement(sb1, Matcher.quoteReplacement(replacement));
+        }
+        h1Matcher.appendTail(sb1);
+        html = sb1.toString();
+        
+        // Convert H2 headers with dynamic borders
+        Pattern h2Pattern = Pattern.compile("<h2[^>]*>(.*?)</h2>", Pattern.DOTALL);
+        Matcher h2Matcher = h2Pattern.matcher(html);
+        StringBuffer sb2 = new StringBuffer();
+        while (h2Matcher.find()) {
+            String headerText = sanitizeHeaderText(h2Matcher.group(1));
+            int textLength = headerText.length();
+            int totalWidth = textLength + 4; // 2 spaces on each side
+            
+            String topBorder = "\n┌" + "─".repeat(totalWidth) + "┐\n";
+            String content = "│  " + headerText + "  │\n";
+            String bottomBorder = "└" + "─".repeat(totalWidth) + "┘\n";
+            
+            String replacement = topBorder + content + bottomBorder;
+            h2Matcher.appendReplacement(sb2, Matcher.quoteReplacement(replacement));
+        }
+        h2Matcher.appendTail(sb2);
+        return sb2.toString();
+    }
+
+    private String sanitizeHeaderText(String rawHeader) {
+        if (rawHeader == null) {
+            return "";
+        }
+        String noTags = rawHeader.replaceAll("<[^>]+>", "").trim();
+        return HtmlUtils.htmlUnescape(noTags);
+    }
+}
@@ -0,0 +1,60 @@
+package com.jtdev.website.service;
+
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Markdown to terminal ASCII: the old HTML render + regex chain against the single AST walk.
+ * Images are stubbed out so only the document conversion is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownRenderBenchmark {
+
+    private static final Function<String, String> NO_IMAGES = src -> "[Image]";
+
+    @Param({"blog/About.md", "portfolio/DTE-Rates-for-Home-Assistant.md", "portfolio/Tesla Automatic Preconditioning.md"})
+    public String path;
+
+    private String markdown;
+    private Parser parser;
+    private HtmlRenderer htmlRenderer;
+    private LegacyHtmlToAscii legacy;
+    private AsciiDocumentRenderer asciiRenderer;
+
+    @Setup
+    public void setUp() throws IOException {
+        markdown = new ClassPathResource("directories/" + path).getContentAsString(StandardCharsets.UTF_8);
+
+        MutableDataSet options = new MutableDataSet();
+        options.set(Parser.EXTENSIONS, List.of(TablesExtension.create()));
+        parser = Parser.builder(options).build();
+        htmlRenderer = HtmlRenderer.builder(options).build();
+        legacy = new LegacyHtmlToAscii(NO_IMAGES);
+        asciiRenderer = new AsciiDocumentRenderer();
+    }
+
+    @Benchmark
+    public String htmlRegexChain() {
+        return legacy.convertHtmlToAscii(htmlRenderer.render(parser.parse(markdown)));
+    }
+
+    @Benchmark
+    public String astWalk() {
+        return asciiRenderer.render(parser.parse(markdown), NO_IMAGES);
+    }
+}
@@ -0,0 +1,46 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxing the text extracted from the resume PDF for a terminal width; the PDF is parsed once in setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumeTextBenchmark {
+
+    // 0 is the original 90-column box sent without cols
+    @Param({"0", "40", "80", "160"})
+    public int cols;
+
+    private ContentService contentService;
+    private String rawText;
+
+    @Setup
+    public void setUp() throws IOException {
+        contentService = new ContentService(new DefaultResourceLoader(), new ContentProperties(), new SimpleMeterRegistry());
+        rawText = contentService.resumeRawText();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        contentService.close();
+    }
+
+    @Benchmark
+    public String formatResumeText() {
+        return cols == 0
+                ? contentService.formatResumeText(rawText, 90, false)
+                : contentService.formatResumeText(rawText, cols - 4, true);
+    }
+}
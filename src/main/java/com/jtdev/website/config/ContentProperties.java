@@ -0,0 +1,315 @@
+package com.jtdev.website.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tunables for the markdown content pipeline, bound from {@code content.*} in application.properties.
+ */
+@ConfigurationProperties(prefix = "content")
+public class ContentProperties {
+
+    /**
+     * External directory to serve content from instead of the copy packaged in the jar.
+     */
+    private String directory;
+
+    private final RenderCache renderCache = new RenderCache();
+
+    private final Watch watch = new Watch();
+
+    private final Executor executor = new Executor();
+
+    private final RemoteImages remoteImages = new RemoteImages();
+
+    private final HttpCache httpCache = new HttpCache();
+
+    private final Bundle bundle = new Bundle();
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public RenderCache getRenderCache() {
+        return renderCache;
+    }
+
+    public Watch getWatch() {
+        return watch;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public RemoteImages getRemoteImages() {
+        return remoteImages;
+    }
+
+    public HttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    public Bundle getBundle() {
+        return bundle;
+    }
+
+    public static class RenderCache {
+        /**
+         * Upper bound on the rendered text held in memory, in characters.
+         */
+        private long maxChars = 4 * 1024 * 1024;
+
+        /**
+         * Upper bound on the ASCII image renditions held in memory, in characters.
+         */
+        private long maxImageChars = 1024 * 1024;
+
+        /**
+         * Upper bound on serialized response bodies and their gzip copies held in memory, in bytes.
+         */
+        private long maxPayloadBytes = 8 * 1024 * 1024;
+
+        public long getMaxChars() {
+            return maxChars;
+        }
+
+        public void setMaxChars(long maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        public long getMaxImageChars() {
+            return maxImageChars;
+        }
+
+        public void setMaxImageChars(long maxImageChars) {
+            this.maxImageChars = maxImageChars;
+        }
+
+        public long getMaxPayloadBytes() {
+            return maxPayloadBytes;
+        }
+
+        public void setMaxPayloadBytes(long maxPayloadBytes) {
+            this.maxPayloadBytes = maxPayloadBytes;
+        }
+    }
+
+    public static class Watch {
+        /**
+         * Re-index files in the content directory as they're edited, instead of only at startup.
+         */
+        private boolean enabled;
+
+        /**
+         * How long the directory must be quiet before a batch of changes is applied.
+         */
+        private Duration debounce = Duration.ofMillis(300);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getDebounce() {
+            return debounce;
+        }
+
+        public void setDebounce(Duration debounce) {
+            this.debounce = debounce;
+        }
+    }
+
+    public static class Executor {
+        /**
+         * Maximum number of content calls running at once.
+         */
+        private int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+        /**
+         * Calls allowed to wait for a worker, across all workers; once every worker is busy and this
+         * many are waiting, further requests are refused with 503.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Longest a single call may take before the request fails with 504.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * Run content calls on virtual threads instead of platform threads.
+         */
+        private boolean virtualThreads;
+
+        /**
+         * Offload content calls to the workers, or run them inline on the calling thread
+         * (the old behavior, kept to compare event-loop blocking time).
+         */
+        private Mode mode = Mode.OFFLOAD;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public enum Mode {
+            OFFLOAD, INLINE
+        }
+    }
+
+    public static class RemoteImages {
+        /**
+         * Fetch images whose markdown src is an http(s) URL; when off they render as a placeholder.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Longest to wait for a connection to the image host.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Longest a whole fetch may take, headers and body included.
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+
+        /**
+         * Images larger than this are refused rather than decoded.
+         */
+        private long maxBytes = 5 * 1024 * 1024;
+
+        /**
+         * Where fetched images and their validators are kept between fetches and restarts.
+         */
+        private String cacheDirectory = System.getProperty("java.io.tmpdir") + "/website-remote-images";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public String getCacheDirectory() {
+            return cacheDirectory;
+        }
+
+        public void setCacheDirectory(String cacheDirectory) {
+            this.cacheDirectory = cacheDirectory;
+        }
+    }
+
+    public static class HttpCache {
+        /**
+         * How long a shared cache (nginx) may serve a content response before revalidating it.
+         * Browsers always revalidate, which costs a 304 when nothing changed.
+         */
+        private Duration sharedMaxAge = Duration.ofSeconds(60);
+
+        public Duration getSharedMaxAge() {
+            return sharedMaxAge;
+        }
+
+        public void setSharedMaxAge(Duration sharedMaxAge) {
+            this.sharedMaxAge = sharedMaxAge;
+        }
+    }
+
+    public static class Bundle {
+        /**
+         * Serve documents and the resume from the build's pre-rendered bundle where their sources
+         * haven't changed since. Only applies to the packaged content, not an external directory.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Where the build writes the bundle.
+         */
+        private String location = "classpath:content.bundle";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
+    }
+}
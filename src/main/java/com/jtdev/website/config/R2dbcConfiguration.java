@@ -0,0 +1,51 @@
+package com.jtdev.website.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Connection pool for the blog_post table, replacing Boot's auto-configured one.
+ *
+ * <p>r2dbc-h2 runs every statement synchronously on the subscribing thread, and the pool hands a
+ * released connection straight to the next waiting borrower on the releasing thread. Under
+ * concurrent writes that chain can keep a Netty event loop busy for as long as the queue stays
+ * non-empty, stalling every other connection on that loop for seconds. Delivering acquired
+ * connections on a small dedicated scheduler breaks the chain and keeps H2 work off the event loops.
+ */
+@Configuration(proxyBeanMethods = false)
+public class R2dbcConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler databaseScheduler(R2dbcProperties properties) {
+        return Schedulers.newBoundedElastic(properties.getPool().getMaxSize(), Integer.MAX_VALUE, "r2dbc");
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(R2dbcProperties properties, Scheduler databaseScheduler) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(properties.getUrl());
+        if (properties.getUsername() != null) {
+            builder.username(properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            builder.password(properties.getPassword());
+        }
+        ConnectionFactory connectionFactory = builder.build();
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .allocatorSubscribeOn(databaseScheduler)
+                .customizer(poolBuilder -> poolBuilder.acquisitionScheduler(databaseScheduler))
+                .build();
+        return new ConnectionPool(configuration);
+    }
+}
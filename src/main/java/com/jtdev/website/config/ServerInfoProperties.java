@@ -0,0 +1,25 @@
+package com.jtdev.website.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tunables for the live server metrics behind /api/server, bound from {@code server-info.*}.
+ */
+@ConfigurationProperties(prefix = "server-info")
+public class ServerInfoProperties {
+
+    /**
+     * How often the OS, memory and runtime MXBeans are read while anyone is watching the stream.
+     */
+    private Duration sampleInterval = Duration.ofSeconds(2);
+
+    public Duration getSampleInterval() {
+        return sampleInterval;
+    }
+
+    public void setSampleInterval(Duration sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+}
@@ -1,12 +1,18 @@
 package com.jtdev.website.controller;
 
 import com.jtdev.website.model.BlogPost;
+import com.jtdev.website.model.BlogPostPage;
+import com.jtdev.website.model.BlogPostSummary;
 import com.jtdev.website.repository.BlogPostRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @RestController
@@ -14,6 +20,8 @@ import java.util.List;
 @CrossOrigin(origins = {"http://localhost:8080", "http://javadevjt.tech", "https://javadevjt.tech"})
 public class BlogController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BlogPostRepository blogPostRepository;
 
     public BlogController(BlogPostRepository blogPostRepository) {
@@ -22,25 +30,54 @@ public class BlogController {
 
     @GetMapping
     public Flux<BlogPost> getAllPosts() {
-        return Flux.fromIterable(blogPostRepository.findAll());
+        // Rows stream straight from the driver, so backpressure reaches the database
+        return blogPostRepository.findAll();
+    }
+
+    /**
+     * Post summaries newest first, {@code size} at a time. Pass the previous page's nextCursor to
+     * continue; the cursor is the (createdDate, id) of the last post returned, so each page is an
+     * index seek rather than an OFFSET scan, and posts added meanwhile don't shift the pages.
+     */
+    @GetMapping("/page")
+    public Mono<BlogPostPage> getPostPage(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // One extra row tells us whether there is a next page without a count query
+        Flux<BlogPostSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = blogPostRepository.findNewest(limit + 1);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            rows = blogPostRepository.findOlderThan(after.createdDate(), after.id(), limit + 1);
+        }
+        return rows.collectList().map(posts -> {
+            if (posts.size() <= limit) {
+                return new BlogPostPage(posts, null);
+            }
+            List<BlogPostSummary> page = posts.subList(0, limit);
+            return new BlogPostPage(page, Cursor.after(page.get(limit - 1)).encode());
+        });
     }
 
     @GetMapping("/{id}")
     public Mono<BlogPost> getPostById(@PathVariable Long id) {
-        return Mono.justOrEmpty(blogPostRepository.findById(id));
+        return blogPostRepository.findById(id);
     }
 
     @PostMapping
     public Mono<BlogPost> createPost(@RequestBody BlogPost blogPost) {
+        // A null id makes save() insert rather than update
+        blogPost.setId(null);
         blogPost.setCreatedDate(LocalDateTime.now());
         blogPost.setUpdatedDate(LocalDateTime.now());
-        return Mono.just(blogPostRepository.save(blogPost));
+        return blogPostRepository.save(blogPost);
     }
 
     @PutMapping("/{id}")
     public Mono<BlogPost> updatePost(@PathVariable Long id, @RequestBody BlogPost updatedPost) {
-        return Mono.justOrEmpty(blogPostRepository.findById(id))
-                .map(existing -> {
+        return blogPostRepository.findById(id)
+                .flatMap(existing -> {
                     existing.setTitle(updatedPost.getTitle());
                     existing.setSummary(updatedPost.getSummary());
                     existing.setContent(updatedPost.getContent());
@@ -52,7 +89,32 @@ public class BlogController {
 
     @DeleteMapping("/{id}")
     public Mono<Void> deletePost(@PathVariable Long id) {
-        blogPostRepository.deleteById(id);
-        return Mono.empty();
+        return blogPostRepository.deleteById(id);
+    }
+
+    /**
+     * Position of the last post on a page, handed to clients as an opaque URL-safe string.
+     */
+    private record Cursor(LocalDateTime createdDate, long id) {
+
+        static Cursor after(BlogPostSummary last) {
+            return new Cursor(last.getCreatedDate(), last.getId());
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = position.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(position.substring(0, separator)),
+                        Long.parseLong(position.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+            }
+        }
+
+        String encode() {
+            String position = createdDate + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
     }
 }
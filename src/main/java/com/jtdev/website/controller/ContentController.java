@@ -1,132 +1,260 @@
 package com.jtdev.website.controller;
 
+import com.jtdev.website.config.ContentProperties;
 import com.jtdev.website.model.BlogMetadata;
+import com.jtdev.website.model.BlogSearchHit;
+import com.jtdev.website.model.BlogSearchPage;
+import com.jtdev.website.model.PortfolioFilterResult;
 import com.jtdev.website.model.PortfolioMetadata;
+import com.jtdev.website.service.CompressedPayloads;
+import com.jtdev.website.service.ContentExecutor;
 import com.jtdev.website.service.ContentService;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ResourceHttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/content")
 @CrossOrigin(origins = {"http://localhost:8080", "http://javadevjt.tech", "https://javadevjt.tech"})
 public class ContentController {
 
+    private static final ResourceHttpMessageWriter RESOURCE_WRITER = new ResourceHttpMessageWriter();
+    private static final ResolvableType RESOURCE_TYPE = ResolvableType.forClass(Resource.class);
+
     private final ContentService contentService;
+    private final ContentExecutor contentExecutor;
+    private final CompressedPayloads payloads;
+    private final CacheControl cacheControl;
 
-    public ContentController(ContentService contentService) {
+    public ContentController(ContentService contentService, ContentExecutor contentExecutor,
+                             CompressedPayloads payloads, ContentProperties properties) {
         this.contentService = contentService;
+        this.contentExecutor = contentExecutor;
+        this.payloads = payloads;
+        this.cacheControl = CacheControl.maxAge(Duration.ZERO)
+                .sMaxAge(properties.getHttpCache().getSharedMaxAge())
+                .cachePublic();
     }
 
+    // Listings, search and filters below read the in-memory index and stay on the event loop;
+    // anything that may touch the disk or render goes through contentExecutor
+
     @GetMapping("/directory/{path}")
     public Mono<Map<String, Object>> getDirectoryContents(@PathVariable String path) {
-        try {
+        return contentExecutor.call(() -> {
             List<String> contents = contentService.getDirectoryContents(path);
             Map<String, Object> result = new HashMap<>();
             result.put("path", path);
             result.put("contents", contents);
-            return Mono.just(result);
-        } catch (IOException e) {
+            return result;
+        }).onErrorResume(IOException.class, e -> {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to read directory: " + e.getMessage());
             return Mono.just(error);
-        }
+        });
     }
 
+    // cols is the client's terminal width; without it content comes back unwrapped as before.
+    // The body is serialized and gzipped once per content version and width, then served as stored;
+    // identical requests that arrive while it's being built wait for that build instead of starting one
+
     @GetMapping("/file")
-    public Mono<Map<String, Object>> getFileContent(@RequestParam String path) {
-        try {
-            String content = contentService.getMarkdownContent(path);
+    public Mono<ResponseEntity<byte[]>> getFileContent(@RequestParam String path,
+                                                       @RequestParam(required = false) Integer cols,
+                                                       ServerWebExchange exchange) {
+        boolean gzip = CompressedPayloads.acceptsGzip(exchange.getRequest().getHeaders());
+        if (notModified(exchange, gzip)) {
+            return Mono.empty();
+        }
+        String version = contentService.contentVersion().tag();
+        List<Object> key = List.of("file", path, ContentService.widthBucket(cols));
+        Callable<Map<String, Object>> body = () -> {
+            String content = contentService.getMarkdownContent(path, cols);
             Map<String, Object> result = new HashMap<>();
             result.put("path", path);
             result.put("content", content);
-            return Mono.just(result);
-        } catch (IOException e) {
+            return result;
+        };
+        // Only files that exist are kept, so requests for made-up paths can't push real payloads out
+        return contentExecutor.call(List.of(key, version), () -> contentService.hasFile(path)
+                ? payloads.get(key, version, body)
+                : payloads.uncached(body.call())
+        ).onErrorResume(IOException.class, e -> {
+            uncacheable(exchange);
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to read file: " + e.getMessage());
-            return Mono.just(error);
-        }
+            return Mono.just(payloads.uncached(error));
+        }).map(payload -> encoded(payload, gzip));
     }
 
     @GetMapping("/blog/list")
-    public Mono<List<BlogMetadata>> getBlogList() {
-        try {
-            return Mono.just(contentService.getBlogList());
-        } catch (IOException e) {
-            return Mono.just(List.of());
+    public Mono<List<BlogMetadata>> getBlogList(ServerWebExchange exchange) {
+        if (notModified(exchange)) {
+            return Mono.empty();
         }
+        return Mono.just(contentService.getBlogList());
     }
 
     @GetMapping("/blog/search")
-    public Mono<List<BlogMetadata>> searchBlogs(@RequestParam(required = false) String term) {
-        try {
-            return Mono.just(contentService.searchBlogs(term));
-        } catch (IOException e) {
-            return Mono.just(List.of());
+    public Mono<ResponseEntity<List<BlogSearchHit>>> searchBlogs(@RequestParam(required = false) String term,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int size) {
+        if (page < 0 || size < 1) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page must be 0 or more and size 1 or more"));
         }
+        BlogSearchPage results = contentService.searchBlogs(term, page, size);
+        return Mono.just(ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(results.getTotal()))
+                .body(results.getHits()));
     }
 
     @GetMapping("/portfolio/list")
-    public Mono<List<PortfolioMetadata>> getPortfolioList() {
-        try {
-            return Mono.just(contentService.getPortfolioList());
-        } catch (IOException e) {
-            return Mono.just(List.of());
+    public Mono<List<PortfolioMetadata>> getPortfolioList(ServerWebExchange exchange) {
+        if (notModified(exchange)) {
+            return Mono.empty();
         }
+        return Mono.just(contentService.getPortfolioList());
     }
 
     @GetMapping("/portfolio/filter")
-    public Mono<List<PortfolioMetadata>> filterPortfolio(@RequestParam(required = false) String tech) {
-        try {
-            return Mono.just(contentService.filterPortfolioByTech(tech));
-        } catch (IOException e) {
-            return Mono.just(List.of());
-        }
+    public Mono<PortfolioFilterResult> filterPortfolio(@RequestParam(required = false) List<String> tech,
+                                                       @RequestParam(required = false) List<String> company,
+                                                       @RequestParam(required = false) List<String> year,
+                                                       @RequestParam(defaultValue = "all") String match) {
+        return Mono.just(contentService.filterPortfolio(tech, company, year, !"any".equalsIgnoreCase(match)));
     }
 
     @GetMapping("/resume")
-    public Mono<Map<String, Object>> getResume() {
-        return Mono.fromCallable(() -> {
-            String resumeText = contentService.getResumeText();
+    public Mono<ResponseEntity<byte[]>> getResume(@RequestParam(required = false) Integer cols,
+                                                  ServerWebExchange exchange) {
+        boolean gzip = CompressedPayloads.acceptsGzip(exchange.getRequest().getHeaders());
+        if (notModified(exchange, gzip)) {
+            return Mono.empty();
+        }
+        String version = contentService.contentVersion().tag();
+        List<Object> key = List.of("resume", ContentService.widthBucket(cols));
+        return contentExecutor.call(List.of(key, version), () -> payloads.get(key, version, () -> {
+            String resumeText = contentService.getResumeText(cols);
             Map<String, Object> result = new HashMap<>();
             result.put("text", resumeText);
             result.put("downloadUrl", "/api/content/resume/download");
             return result;
-        }).onErrorResume(e -> {
+        })).onErrorResume(e -> !(e instanceof ResponseStatusException), e -> {
+            uncacheable(exchange);
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to load resume: " + e.getMessage());
-            return Mono.just(error);
-        });
+            return Mono.just(payloads.uncached(error));
+        }).map(payload -> encoded(payload, gzip));
     }
 
+    // The PDF is a file on disk, so the resource writer sends it with zero-copy transfers (sendfile
+    // under Netty) and answers Range requests with 206 regions of it, keeping heap use flat per download
+
     @GetMapping("/resume/download")
-    public Mono<ResponseEntity<Resource>> downloadResume() {
-        return Mono.fromCallable(() -> {
-            try {
-                Resource pdf = contentService.getResumePdfResource();
-                if (!pdf.exists()) {
-                    return ResponseEntity.notFound().build();
-                }
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=Joshua-Terk-Resume.pdf");
-
-                return ResponseEntity.ok()
-                        .headers(headers)
-                        .contentType(MediaType.APPLICATION_PDF)
-                        .body(pdf);
-            } catch (Exception e) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    public Mono<Void> downloadResume(ServerWebExchange exchange) {
+        if (notModified(exchange)) {
+            return Mono.empty();
+        }
+        ContentService.ContentVersion version = contentService.contentVersion();
+        return contentExecutor.call(contentService::getResumePdfResource).flatMap(pdf -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!rangeApplies(request.getHeaders(), version)) {
+                request = request.mutate().headers(headers -> headers.remove(HttpHeaders.RANGE)).build();
             }
+            exchange.getResponse().getHeaders().setContentDisposition(
+                    ContentDisposition.attachment().filename("Joshua-Terk-Resume.pdf").build());
+            return RESOURCE_WRITER.write(Mono.just(pdf), RESOURCE_TYPE, RESOURCE_TYPE, MediaType.APPLICATION_PDF,
+                    request, exchange.getResponse(), Map.of());
+        }).onErrorResume(e -> !(e instanceof ResponseStatusException), e -> {
+            uncacheable(exchange);
+            exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+            return exchange.getResponse().setComplete();
         });
     }
+
+    /**
+     * Whether a Range in the request may be honoured: always without If-Range, otherwise only when
+     * the copy it names (by strong ETag or by date) is the one about to be sent. A partial download
+     * of an older version then restarts from the beginning instead of being stitched to this one.
+     */
+    private static boolean rangeApplies(HttpHeaders headers, ContentService.ContentVersion version) {
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals("\"" + version.tag() + "\"");
+        }
+        try {
+            return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()
+                    .equals(version.modified());
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stamp the response with an ETag and Last-Modified from the content version, plus the caching
+     * policy, and report whether the client already has this version. If so the response is now a
+     * bodiless 304 and the handler returns without reading or rendering anything. The tag only has
+     * to tell versions of one URL apart, so path and cols need not be part of it.
+     */
+    private boolean notModified(ServerWebExchange exchange) {
+        ContentService.ContentVersion version = contentService.contentVersion();
+        exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+        return exchange.checkNotModified("\"" + version.tag() + "\"", version.modified());
+    }
+
+    /**
+     * As above, for a response that may go out gzipped. The two encodings are different bytes, so
+     * they get different tags, and Vary keeps shared caches from handing one out for the other.
+     */
+    private boolean notModified(ServerWebExchange exchange, boolean gzip) {
+        ContentService.ContentVersion version = contentService.contentVersion();
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.setCacheControl(cacheControl);
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        String tag = "\"" + version.tag() + (gzip ? "-gzip" : "") + "\"";
+        return exchange.checkNotModified(tag, version.modified());
+    }
+
+    /**
+     * The stored gzip bytes when the client takes them and they exist, otherwise the plain JSON.
+     */
+    private static ResponseEntity<byte[]> encoded(CompressedPayloads.Payload payload, boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (gzip && payload.gzip() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.identity());
+    }
+
+    private static void uncacheable(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.remove(HttpHeaders.ETAG);
+        headers.remove(HttpHeaders.LAST_MODIFIED);
+        headers.setCacheControl(CacheControl.noStore());
+    }
 }
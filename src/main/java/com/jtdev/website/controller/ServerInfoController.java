@@ -1,158 +1,204 @@
 package com.jtdev.website.controller;
 
+import com.jtdev.website.service.ServerMetricsSampler;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.lang.management.ManagementFactory;
-import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
 import java.net.InetAddress;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * Provides real server runtime information for the terminal interface.
  * Shows actual server specs (CPU, memory, OS, uptime) rather than client browser info.
+ *
+ * <p>What can't change while the process runs (hostname, OS, JVM) is read and serialized once at
+ * startup. Each new sample from {@link ServerMetricsSampler} is merged into it once, and every
+ * request in that sampling interval gets the same bytes, with no DNS lookups, MXBean reads or maps.
  */
 @RestController
 @RequestMapping("/api/server")
 public class ServerInfoController {
 
-    private final RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
-    private final OperatingSystemMXBean osMXBean = ManagementFactory.getOperatingSystemMXBean();
-    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final ServerMetricsSampler sampler;
+    private final JsonMapper jsonMapper;
 
-    /**
-     * Get comprehensive server runtime information.
-     * This is what makes the terminal feel like a real SSH session!
-     */
-    @GetMapping("/info")
-    public Mono<Map<String, Object>> getServerInfo() {
-        Map<String, Object> info = new HashMap<>();
-        
-        // Basic server identity
-        info.put("hostname", getHostname());
-        info.put("serverTime", System.currentTimeMillis());
-        
-        // Operating System Information
-        info.put("os", getOSInfo());
-        
-        // CPU Information
-        info.put("cpu", getCPUInfo());
-        
-        // Memory Information
-        info.put("memory", getMemoryInfo());
-        
-        // JVM Runtime Information
-        info.put("runtime", getRuntimeInfo());
-        
-        // Uptime
-        info.put("uptime", runtimeMXBean.getUptime());
-        
-        return Mono.just(info);
-    }
+    private final String infoStatic;
+    private final String osStatic;
+    private final String runtimeStatic;
+    private final String bootInfoStatic;
 
-    /**
-     * Get detailed operating system information
-     */
-    private Map<String, Object> getOSInfo() {
-        Map<String, Object> os = new HashMap<>();
+    private volatile Rendered rendered;
+
+    public ServerInfoController(ServerMetricsSampler sampler, JsonMapper jsonMapper) {
+        this.sampler = sampler;
+        this.jsonMapper = jsonMapper;
+
+        RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
+        OperatingSystemMXBean osMXBean = ManagementFactory.getOperatingSystemMXBean();
+        String hostname = getHostname();
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("hostname", hostname);
+        this.infoStatic = members(info);
+
+        Map<String, Object> os = new LinkedHashMap<>();
         os.put("name", System.getProperty("os.name"));
         os.put("version", System.getProperty("os.version"));
         os.put("arch", System.getProperty("os.arch"));
-        
-        // Try to get more detailed OS info using OperatingSystemMXBean
+        os.put("availableProcessors", osMXBean.getAvailableProcessors());
         if (osMXBean instanceof com.sun.management.OperatingSystemMXBean sunOsMXBean) {
-            os.put("availableProcessors", sunOsMXBean.getAvailableProcessors());
-            os.put("systemLoadAverage", sunOsMXBean.getSystemLoadAverage());
             os.put("totalPhysicalMemory", sunOsMXBean.getTotalMemorySize());
-            os.put("freePhysicalMemory", sunOsMXBean.getFreeMemorySize());
             os.put("totalSwapSpace", sunOsMXBean.getTotalSwapSpaceSize());
-            os.put("freeSwapSpace", sunOsMXBean.getFreeSwapSpaceSize());
-        } else {
-            os.put("availableProcessors", osMXBean.getAvailableProcessors());
-            os.put("systemLoadAverage", osMXBean.getSystemLoadAverage());
         }
-        
-        return os;
+        this.osStatic = members(os);
+
+        Map<String, Object> runtime = new LinkedHashMap<>();
+        runtime.put("vmName", runtimeMXBean.getVmName());
+        runtime.put("vmVendor", runtimeMXBean.getVmVendor());
+        runtime.put("vmVersion", runtimeMXBean.getVmVersion());
+        runtime.put("startTime", runtimeMXBean.getStartTime());
+        runtime.put("javaVersion", System.getProperty("java.version"));
+        runtime.put("javaVendor", System.getProperty("java.vendor"));
+        runtime.put("javaHome", System.getProperty("java.home"));
+        this.runtimeStatic = members(runtime);
+
+        Map<String, Object> bootInfo = new LinkedHashMap<>();
+        bootInfo.put("hostname", hostname);
+        bootInfo.put("osName", System.getProperty("os.name"));
+        bootInfo.put("osVersion", System.getProperty("os.version"));
+        bootInfo.put("osArch", System.getProperty("os.arch"));
+        bootInfo.put("cpuCores", Runtime.getRuntime().availableProcessors());
+        bootInfo.put("javaVersion", System.getProperty("java.version"));
+        this.bootInfoStatic = members(bootInfo);
     }
 
     /**
-     * Get CPU information
+     * Get comprehensive server runtime information.
+     * This is what makes the terminal feel like a real SSH session!
      */
-    private Map<String, Object> getCPUInfo() {
-        Map<String, Object> cpu = new HashMap<>();
-        cpu.put("cores", Runtime.getRuntime().availableProcessors());
-        cpu.put("loadAverage", osMXBean.getSystemLoadAverage());
-        
-        // Try to get CPU usage if available
-        if (osMXBean instanceof com.sun.management.OperatingSystemMXBean sunOsMXBean) {
-            cpu.put("processCpuLoad", sunOsMXBean.getProcessCpuLoad() * 100);
-            cpu.put("systemCpuLoad", sunOsMXBean.getCpuLoad() * 100);
-        }
-        
-        return cpu;
+    @GetMapping(value = "/info", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<byte[]> getServerInfo() {
+        return Mono.just(rendered().info());
     }
 
     /**
-     * Get memory information in bytes
+     * Live CPU, memory and uptime as server-sent events, one per sampling interval.
+     * Every subscriber shares the same sampler, so open terminals don't add MXBean reads.
      */
-    private Map<String, Object> getMemoryInfo() {
-        Map<String, Object> memory = new HashMap<>();
-        
-        // JVM Heap Memory
-        long heapMax = memoryMXBean.getHeapMemoryUsage().getMax();
-        long heapUsed = memoryMXBean.getHeapMemoryUsage().getUsed();
-        long heapCommitted = memoryMXBean.getHeapMemoryUsage().getCommitted();
-        
-        memory.put("heapMax", heapMax);
-        memory.put("heapUsed", heapUsed);
-        memory.put("heapCommitted", heapCommitted);
-        memory.put("heapFree", heapMax - heapUsed);
-        
-        // Non-Heap Memory
-        memory.put("nonHeapUsed", memoryMXBean.getNonHeapMemoryUsage().getUsed());
-        
-        // System Memory (if available)
-        if (osMXBean instanceof com.sun.management.OperatingSystemMXBean sunOsMXBean) {
-            long totalPhysical = sunOsMXBean.getTotalMemorySize();
-            long freePhysical = sunOsMXBean.getFreeMemorySize();
-            
-            memory.put("totalPhysical", totalPhysical);
-            memory.put("freePhysical", freePhysical);
-            memory.put("usedPhysical", totalPhysical - freePhysical);
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerMetricsSampler.Sample> streamServerInfo(ServerHttpResponse response) {
+        // Tell nginx to pass events through as they come instead of buffering the response
+        response.getHeaders().set("X-Accel-Buffering", "no");
+        return sampler.stream();
+    }
+
+    /**
+     * Get quick system stats for boot sequence
+     */
+    @GetMapping(value = "/boot-info", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<byte[]> getBootInfo() {
+        return Mono.just(rendered().bootInfo());
+    }
+
+    /**
+     * Both bodies for the current sample, rendered by whichever request first sees that sample.
+     * Two requests racing on a new sample may both render it; either result is the same.
+     */
+    private Rendered rendered() {
+        ServerMetricsSampler.Sample sample = sampler.latest();
+        Rendered current = rendered;
+        if (current == null || current.sample() != sample) {
+            current = new Rendered(sample, renderInfo(sample), renderBootInfo(sample));
+            rendered = current;
         }
-        
-        return memory;
+        return current;
+    }
+
+    private byte[] renderInfo(ServerMetricsSampler.Sample sample) {
+        ServerMetricsSampler.Memory memory = sample.memory();
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("serverTime", sample.serverTime());
+        info.put("uptime", sample.uptime());
+
+        // Free memory and load change; the rest of the OS section was serialized at startup
+        Map<String, Object> os = new LinkedHashMap<>();
+        os.put("systemLoadAverage", sample.cpu().loadAverage());
+        if (memory.freePhysical() != null) {
+            os.put("freePhysicalMemory", memory.freePhysical());
+            os.put("freeSwapSpace", memory.freeSwapSpace());
+        }
+
+        Map<String, Object> runtime = new LinkedHashMap<>();
+        runtime.put("uptime", sample.uptime());
+
+        String json = object(
+                infoStatic,
+                members(info),
+                "\"os\":" + object(osStatic, members(os)),
+                "\"cpu\":" + jsonMapper.writeValueAsString(sample.cpu()),
+                "\"memory\":" + jsonMapper.writeValueAsString(memory),
+                "\"runtime\":" + object(runtimeStatic, members(runtime)));
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] renderBootInfo(ServerMetricsSampler.Sample sample) {
+        ServerMetricsSampler.Memory memory = sample.memory();
+
+        // Memory in MB for readability; physical if the JVM reports it, otherwise the heap
+        long totalMemoryMB;
+        long freeMemoryMB;
+        if (memory.totalPhysical() != null) {
+            totalMemoryMB = memory.totalPhysical() / (1024 * 1024);
+            freeMemoryMB = memory.freePhysical() / (1024 * 1024);
+        } else {
+            totalMemoryMB = memory.heapMax() / (1024 * 1024);
+            freeMemoryMB = memory.heapFree() / (1024 * 1024);
+        }
+
+        Map<String, Object> bootInfo = new LinkedHashMap<>();
+        bootInfo.put("uptime", sample.uptime());
+        bootInfo.put("totalMemoryMB", totalMemoryMB);
+        bootInfo.put("freeMemoryMB", freeMemoryMB);
+        bootInfo.put("usedMemoryMB", totalMemoryMB - freeMemoryMB);
+
+        return object(bootInfoStatic, members(bootInfo)).getBytes(StandardCharsets.UTF_8);
     }
 
     /**
-     * Get JVM runtime information
+     * The members of a JSON object without its braces, ready to be joined with other members.
      */
-    private Map<String, Object> getRuntimeInfo() {
-        Map<String, Object> runtime = new HashMap<>();
-        
-        runtime.put("vmName", runtimeMXBean.getVmName());
-        runtime.put("vmVendor", runtimeMXBean.getVmVendor());
-        runtime.put("vmVersion", runtimeMXBean.getVmVersion());
-        runtime.put("startTime", runtimeMXBean.getStartTime());
-        runtime.put("uptime", runtimeMXBean.getUptime());
-        
-        // Java version info
-        runtime.put("javaVersion", System.getProperty("java.version"));
-        runtime.put("javaVendor", System.getProperty("java.vendor"));
-        runtime.put("javaHome", System.getProperty("java.home"));
-        
-        return runtime;
+    private String members(Map<String, Object> values) {
+        String object = jsonMapper.writeValueAsString(values);
+        return object.substring(1, object.length() - 1);
+    }
+
+    private static String object(String... members) {
+        StringJoiner joined = new StringJoiner(",", "{", "}");
+        for (String member : members) {
+            if (!member.isEmpty()) {
+                joined.add(member);
+            }
+        }
+        return joined.toString();
     }
 
     /**
      * Get server hostname
      */
-    private String getHostname() {
+    private static String getHostname() {
         try {
             return InetAddress.getLocalHost().getHostName();
         } catch (Exception e) {
@@ -160,39 +206,6 @@ public class ServerInfoController {
         }
     }
 
-    /**
-     * Get quick system stats for boot sequence
-     */
-    @GetMapping("/boot-info")
-    public Mono<Map<String, Object>> getBootInfo() {
-        Map<String, Object> bootInfo = new HashMap<>();
-        
-        // Quick stats for boot sequence
-        bootInfo.put("hostname", getHostname());
-        bootInfo.put("osName", System.getProperty("os.name"));
-        bootInfo.put("osVersion", System.getProperty("os.version"));
-        bootInfo.put("osArch", System.getProperty("os.arch"));
-        bootInfo.put("cpuCores", Runtime.getRuntime().availableProcessors());
-        bootInfo.put("javaVersion", System.getProperty("java.version"));
-        bootInfo.put("uptime", runtimeMXBean.getUptime());
-        
-        // Memory in MB for readability
-        long totalMemoryMB = 0;
-        long freeMemoryMB = 0;
-        
-        if (osMXBean instanceof com.sun.management.OperatingSystemMXBean sunOsMXBean) {
-            totalMemoryMB = sunOsMXBean.getTotalMemorySize() / (1024 * 1024);
-            freeMemoryMB = sunOsMXBean.getFreeMemorySize() / (1024 * 1024);
-        } else {
-            // Fallback to JVM heap
-            totalMemoryMB = memoryMXBean.getHeapMemoryUsage().getMax() / (1024 * 1024);
-            freeMemoryMB = (memoryMXBean.getHeapMemoryUsage().getMax() - memoryMXBean.getHeapMemoryUsage().getUsed()) / (1024 * 1024);
-        }
-        
-        bootInfo.put("totalMemoryMB", totalMemoryMB);
-        bootInfo.put("freeMemoryMB", freeMemoryMB);
-        bootInfo.put("usedMemoryMB", totalMemoryMB - freeMemoryMB);
-        
-        return Mono.just(bootInfo);
+    private record Rendered(ServerMetricsSampler.Sample sample, byte[] info, byte[] bootInfo) {
     }
 }
@@ -1,22 +1,23 @@
 package com.jtdev.website.model;
 
-import jakarta.persistence.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
 import java.time.LocalDateTime;
 
-@Entity
+/**
+ * A blog post row in the blog_post table (see schema.sql).
+ */
+@Table
 public class BlogPost {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
     private String title;
 
-    @Column(length = 1000)
     private String summary;
 
-    @Column(columnDefinition = "TEXT")
     private String content;
 
     private String author = "Joshua Terk";
@@ -25,7 +26,6 @@ public class BlogPost {
 
     private LocalDateTime updatedDate = LocalDateTime.now();
 
-    @Column(length = 500)
     private String tags;
 
     // Getters and setters
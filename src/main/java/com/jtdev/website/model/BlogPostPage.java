@@ -0,0 +1,25 @@
+package com.jtdev.website.model;
+
+import java.util.List;
+
+/**
+ * One page of blog post summaries, newest first, plus the cursor that fetches the page after it
+ * (null on the last page).
+ */
+public class BlogPostPage {
+    private final List<BlogPostSummary> posts;
+    private final String nextCursor;
+
+    public BlogPostPage(List<BlogPostSummary> posts, String nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BlogPostSummary> getPosts() {
+        return posts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
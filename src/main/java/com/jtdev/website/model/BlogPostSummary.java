@@ -0,0 +1,56 @@
+package com.jtdev.website.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * The listing columns of a blog post; the content column is left in the database until a
+ * single post is requested.
+ */
+public class BlogPostSummary {
+    private final Long id;
+    private final String title;
+    private final String summary;
+    private final String author;
+    private final String tags;
+    private final LocalDateTime createdDate;
+    private final LocalDateTime updatedDate;
+
+    public BlogPostSummary(Long id, String title, String summary, String author, String tags,
+                           LocalDateTime createdDate, LocalDateTime updatedDate) {
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+        this.author = author;
+        this.tags = tags;
+        this.createdDate = createdDate;
+        this.updatedDate = updatedDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+}
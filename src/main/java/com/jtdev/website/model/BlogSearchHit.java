@@ -0,0 +1,34 @@
+package com.jtdev.website.model;
+
+/**
+ * A blog post matched by a search, with the part of the body that matched.
+ * Snippet matches are wrapped in ** the same way the terminal marks bold text.
+ */
+public class BlogSearchHit extends BlogMetadata {
+    private String snippet;
+    private double score;
+
+    public BlogSearchHit() {}
+
+    public BlogSearchHit(BlogMetadata blog, String snippet, double score) {
+        super(blog.getFilename(), blog.getTitle(), blog.getPublished(), blog.getTags(), blog.getExcerpt());
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
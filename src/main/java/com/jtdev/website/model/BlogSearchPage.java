@@ -0,0 +1,24 @@
+package com.jtdev.website.model;
+
+import java.util.List;
+
+/**
+ * One page of blog search results plus the total number of matches.
+ */
+public class BlogSearchPage {
+    private final List<BlogSearchHit> hits;
+    private final int total;
+
+    public BlogSearchPage(List<BlogSearchHit> hits, int total) {
+        this.hits = hits;
+        this.total = total;
+    }
+
+    public List<BlogSearchHit> getHits() {
+        return hits;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
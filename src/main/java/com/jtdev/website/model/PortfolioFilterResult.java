@@ -0,0 +1,30 @@
+package com.jtdev.website.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Portfolio projects matching a filter, with how many of them carry each technology,
+ * company and year (keyed "tech", "company" and "year").
+ */
+public class PortfolioFilterResult {
+    private final List<PortfolioMetadata> projects;
+    private final Map<String, Map<String, Integer>> facets;
+
+    public PortfolioFilterResult(List<PortfolioMetadata> projects, Map<String, Map<String, Integer>> facets) {
+        this.projects = projects;
+        this.facets = facets;
+    }
+
+    public List<PortfolioMetadata> getProjects() {
+        return projects;
+    }
+
+    public int getTotal() {
+        return projects.size();
+    }
+
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+}
@@ -1,9 +1,35 @@
 package com.jtdev.website.repository;
 
 import com.jtdev.website.model.BlogPost;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.jtdev.website.model.BlogPostSummary;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
 
 @Repository
-public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
+public interface BlogPostRepository extends ReactiveCrudRepository<BlogPost, Long> {
+
+    /**
+     * The newest posts, without their content.
+     */
+    @Query("""
+            SELECT id, title, summary, author, tags, created_date, updated_date FROM blog_post
+            ORDER BY created_date DESC, id DESC
+            LIMIT :limit""")
+    Flux<BlogPostSummary> findNewest(int limit);
+
+    /**
+     * The posts that sort after (createdDate, id), newest first, without their content. The row
+     * comparison seeks the blog_post_created index, so every page reads about limit rows however
+     * deep it is.
+     */
+    @Query("""
+            SELECT id, title, summary, author, tags, created_date, updated_date FROM blog_post
+            WHERE (created_date, id) < (:createdDate, :id)
+            ORDER BY created_date DESC, id DESC
+            LIMIT :limit""")
+    Flux<BlogPostSummary> findOlderThan(LocalDateTime createdDate, long id, int limit);
 }
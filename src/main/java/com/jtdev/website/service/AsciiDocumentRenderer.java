@@ -0,0 +1,707 @@
+package com.jtdev.website.service;
+
+import com.vladsch.flexmark.ast.*;
+import com.vladsch.flexmark.ext.tables.TableBlock;
+import com.vladsch.flexmark.ext.tables.TableCell;
+import com.vladsch.flexmark.ext.tables.TableRow;
+import com.vladsch.flexmark.ext.tables.TableSeparator;
+import com.vladsch.flexmark.parser.ListOptions;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.ast.ContentNode;
+import com.vladsch.flexmark.util.ast.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Renders a parsed markdown document to the terminal's ASCII form in a single walk of the
+ * flexmark AST, writing into one builder.
+ *
+ * <p>The output matches what the old HTML + regex pipeline produced, quirks included:
+ * characters the HTML renderer would have escaped ({@code & < > "}) are dropped from body text,
+ * indentation and blank lines collapse into single line breaks, and inline markers are only
+ * kept where the old replacement order would have matched them (see {@link #convertsInline}).
+ *
+ * <p>Given a width, the same walk also lays the document out to fit it: body text is word-wrapped,
+ * header boxes wrap their title, and tables narrow their widest columns and wrap cells. Without
+ * one (width 0) lines run as long as their content, as they always have.
+ */
+final class AsciiDocumentRenderer {
+
+    private static final String[] BULLETS = {"•", "◦", "▪", "▹", "▸"};
+
+    // Order in which the old regex chain rewrote inline HTML. An element kept its markdown
+    // markers only if every element nested inside it had already been rewritten by then.
+    private static final int STEP_BREAK = 1;
+    private static final int STEP_LINK = 2;
+    private static final int STEP_CODE = 3;
+    private static final int STEP_STRONG = 4;
+    private static final int STEP_EMPHASIS = 5;
+    private static final int STEP_IMAGE = 6;
+    private static final int STEP_NEVER = Integer.MAX_VALUE;
+
+    /**
+     * Render {@code document}, calling {@code images} with the source of each embedded image.
+     */
+    String render(Document document, Function<String, String> images) {
+        return render(document, 0, images);
+    }
+
+    /**
+     * Render {@code document} to fit {@code width} columns, or unwrapped when width is 0.
+     * Images are expected to come back from {@code images} no wider than that.
+     */
+    String render(Document document, int width, Function<String, String> images) {
+        Walk walk = new Walk(document, width, images, new AsciiWriter(document.getTextLength() + 256, width));
+        walk.children(document);
+        return walk.out.finish();
+    }
+
+    /**
+     * Greedy word wrap of text to lines of at most width characters; words longer than a line are
+     * split. Always returns at least one (possibly empty) line.
+     */
+    static List<String> wrap(String text, int width) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : text.trim().split("\\s+")) {
+            while (word.length() > width) {
+                if (!line.isEmpty()) {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                }
+                lines.add(word.substring(0, width));
+                word = word.substring(width);
+            }
+            if (!line.isEmpty() && line.length() + 1 + word.length() > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if (!line.isEmpty()) {
+                line.append(' ');
+            }
+            line.append(word);
+        }
+        if (!line.isEmpty() || lines.isEmpty()) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static final class Walk {
+        private final Document document;
+        private final int width;
+        private final ListOptions listOptions;
+        private final Function<String, String> images;
+        private final AsciiWriter out;
+        // Number of items emitted so far in each enclosing list, innermost last; -1 for bullets
+        private final List<int[]> lists = new ArrayList<>();
+
+        private Walk(Document document, int width, Function<String, String> images, AsciiWriter out) {
+            this.document = document;
+            this.width = width;
+            this.listOptions = ListOptions.get(document);
+            this.images = images;
+            this.out = out;
+        }
+
+        private void children(Node parent) {
+            for (Node child = parent.getFirstChild(); child != null; child = child.getNext()) {
+                node(child);
+            }
+        }
+
+        private void node(Node node) {
+            if (node instanceof Heading heading) {
+                heading(heading);
+            } else if (node instanceof Paragraph paragraph) {
+                paragraph(paragraph);
+            } else if (node instanceof ListBlock list) {
+                list(list);
+            } else if (node instanceof ListItem item) {
+                listItem(item);
+            } else if (node instanceof TableBlock table) {
+                table(table);
+            } else if (node instanceof IndentedCodeBlock || node instanceof FencedCodeBlock) {
+                codeBlock((ContentNode) node);
+            } else if (node instanceof HtmlBlock || node instanceof HtmlInline) {
+                rawHtml(node.getChars());
+            } else if (node instanceof HtmlCommentBlock || node instanceof HtmlInlineComment || node instanceof Reference) {
+                // Comments and link reference definitions have no visible output
+            } else if (node instanceof BlockQuote || node instanceof ThematicBreak) {
+                out.newline();
+                children(node);
+                out.newline();
+            } else {
+                inline(node);
+            }
+        }
+
+        private void heading(Heading heading) {
+            int level = heading.getLevel();
+            if (level <= 2) {
+                String text = plainText(heading).trim();
+                // The box is two characters of border and padding each side of the title
+                List<String> lines = width > 0 && text.length() > width - 6
+                        ? wrap(text, Math.max(1, width - 6))
+                        : List.of(text);
+                int inner = lines.stream().mapToInt(String::length).max().orElse(0);
+                String horizontal = (level == 1 ? "═" : "─").repeat(inner + 4);
+                String vertical = level == 1 ? "║" : "│";
+                out.newline();
+                out.beginVerbatim();
+                out.append(level == 1 ? "╔" : "┌").append(horizontal).append(level == 1 ? "╗" : "┐").newline();
+                for (String line : lines) {
+                    out.append(vertical).append("  ").append(line).repeat(' ', inner - line.length())
+                            .append("  ").append(vertical).newline();
+                }
+                out.append(level == 1 ? "╚" : "└").append(horizontal).append(level == 1 ? "╝" : "┘").newline();
+                out.endVerbatim();
+                return;
+            }
+
+            out.newline();
+            if (isTextOnly(heading)) {
+                out.append("**");
+                children(heading);
+                out.append("**");
+            } else {
+                children(heading);
+            }
+            out.newline();
+        }
+
+        private void paragraph(Paragraph paragraph) {
+            // Tight list items render their paragraph inline right after the bullet
+            boolean wrapped = !(paragraph.getParent() instanceof ParagraphItemContainer container)
+                    || !container.isParagraphWrappingDisabled(paragraph, listOptions, document);
+            if (wrapped) {
+                out.newline();
+            }
+            children(paragraph);
+            if (wrapped) {
+                out.newline();
+            }
+        }
+
+        private void list(ListBlock list) {
+            lists.add(new int[]{list instanceof OrderedList ? 0 : -1});
+            out.newline();
+            children(list);
+            out.newline();
+            lists.remove(lists.size() - 1);
+        }
+
+        private void listItem(ListItem item) {
+            int depth = Math.max(lists.size(), 1);
+            int[] counter = lists.isEmpty() ? null : lists.get(lists.size() - 1);
+
+            out.newline();
+            if (counter != null && counter[0] >= 0) {
+                counter[0]++;
+                out.append(Integer.toString(counter[0])).append(". ");
+            } else {
+                out.append(BULLETS[Math.min(depth - 1, BULLETS.length - 1)]).append(" ");
+            }
+            children(item);
+            out.newline();
+        }
+
+        private void codeBlock(ContentNode block) {
+            // The fence line never survived the old pipeline; only the closing marker did
+            out.newline();
+            out.beginVerbatim();
+            out.appendEscapedText(block.getContentChars());
+            out.newline().append("```").newline();
+            out.endVerbatim();
+        }
+
+        private void table(TableBlock table) {
+            List<List<String>> rows = new ArrayList<>();
+            collectRows(table, rows);
+
+            out.newline();
+            if (!rows.isEmpty()) {
+                out.beginVerbatim();
+                writeTable(rows);
+                out.endVerbatim();
+            }
+            out.newline();
+        }
+
+        private void collectRows(Node parent, List<List<String>> rows) {
+            for (Node child = parent.getFirstChild(); child != null; child = child.getNext()) {
+                if (child instanceof TableSeparator) {
+                    continue;
+                }
+                if (child instanceof TableRow) {
+                    List<String> cells = new ArrayList<>();
+                    for (Node cell = child.getFirstChild(); cell != null; cell = cell.getNext()) {
+                        if (cell instanceof TableCell) {
+                            cells.add(plainText(cell).trim());
+                        }
+                    }
+                    if (!cells.isEmpty()) {
+                        rows.add(cells);
+                    }
+                } else {
+                    collectRows(child, rows);
+                }
+            }
+        }
+
+        private void writeTable(List<List<String>> rows) {
+            int numCols = 0;
+            for (List<String> row : rows) {
+                numCols = Math.max(numCols, row.size());
+            }
+            int[] colWidths = new int[numCols];
+            for (List<String> row : rows) {
+                for (int i = 0; i < row.size(); i++) {
+                    colWidths[i] = Math.max(colWidths[i], row.get(i).length());
+                }
+            }
+
+            boolean fitted = fitColumns(colWidths);
+
+            border(colWidths, "┌", "┬", "┐");
+            for (int r = 0; r < rows.size(); r++) {
+                List<String> row = rows.get(r);
+                if (fitted) {
+                    writeWrappedRow(row, colWidths);
+                } else {
+                    out.append("│");
+                    for (int i = 0; i < numCols; i++) {
+                        String cell = i < row.size() ? row.get(i) : "";
+                        out.append(" ").append(cell).repeat(' ', colWidths[i] - cell.length() + 1).append("│");
+                    }
+                    out.newline();
+                }
+
+                if (r == 0 && rows.size() > 1) {
+                    border(colWidths, "├", "┼", "┤");
+                } else if (r == rows.size() - 1) {
+                    border(colWidths, "└", "┴", "┘");
+                }
+            }
+        }
+
+        /**
+         * Narrow the columns until the table fits the width, taking from the widest first so
+         * short columns keep their text on one line. Returns whether any column was narrowed.
+         */
+        private boolean fitColumns(int[] colWidths) {
+            int available = width - (3 * colWidths.length + 1);
+            if (width <= 0 || Arrays.stream(colWidths).sum() <= available) {
+                return false;
+            }
+            int cap = Arrays.stream(colWidths).max().orElse(1);
+            while (cap > 1 && cappedWidth(colWidths, cap) > available) {
+                cap--;
+            }
+            for (int i = 0; i < colWidths.length; i++) {
+                colWidths[i] = Math.max(1, Math.min(colWidths[i], cap));
+            }
+            return true;
+        }
+
+        private static int cappedWidth(int[] colWidths, int cap) {
+            int total = 0;
+            for (int w : colWidths) {
+                total += Math.min(w, cap);
+            }
+            return total;
+        }
+
+        private void writeWrappedRow(List<String> row, int[] colWidths) {
+            List<List<String>> cells = new ArrayList<>();
+            int height = 1;
+            for (int i = 0; i < colWidths.length; i++) {
+                List<String> lines = wrap(i < row.size() ? row.get(i) : "", colWidths[i]);
+                cells.add(lines);
+                height = Math.max(height, lines.size());
+            }
+            for (int line = 0; line < height; line++) {
+                out.append("│");
+                for (int i = 0; i < colWidths.length; i++) {
+                    List<String> lines = cells.get(i);
+                    String text = line < lines.size() ? lines.get(line) : "";
+                    out.append(" ").append(text).repeat(' ', colWidths[i] - text.length() + 1).append("│");
+                }
+                out.newline();
+            }
+        }
+
+        private void border(int[] colWidths, String left, String middle, String right) {
+            out.append(left);
+            for (int i = 0; i < colWidths.length; i++) {
+                out.repeat('─', colWidths[i] + 2).append(i < colWidths.length - 1 ? middle : right);
+            }
+            out.newline();
+        }
+
+        private void inline(Node node) {
+            if (node instanceof Text || node instanceof HtmlEntity) {
+                out.appendEscapedText(node.getChars().unescape());
+            } else if (node instanceof SoftLineBreak) {
+                out.newline();
+            } else if (node instanceof HardLineBreak) {
+                out.newline();
+            } else if (node instanceof Code code) {
+                out.append("`").appendEscapedText(code.getText()).append("`");
+            } else if (node instanceof StrongEmphasis || node instanceof Emphasis) {
+                String marker = node instanceof StrongEmphasis ? "**" : "*";
+                boolean converts = convertsInline(node);
+                if (converts) {
+                    out.append(marker);
+                }
+                children(node);
+                if (converts) {
+                    out.append(marker);
+                }
+            } else if (node instanceof Image image) {
+                image(image.getUrl().unescape());
+            } else if (node instanceof ImageRef ref && ref.isDefined()) {
+                Reference reference = ref.getReferenceNode(document);
+                image(reference == null ? "" : reference.getUrl().unescape());
+            } else if (node instanceof RefNode ref && !ref.isDefined()) {
+                // Unresolved [text] and [text][ref] are plain text
+                out.appendEscapedText(node.getChars().unescape());
+            } else if (node instanceof LinkNode || node instanceof LinkRef) {
+                String url = linkUrl(node);
+                linkText(node);
+                if (url != null && convertsInline(node)) {
+                    out.append(" (").appendEscapedText(url).append(")");
+                }
+            } else {
+                children(node);
+            }
+        }
+
+        private void linkText(Node link) {
+            if (!link.hasChildren() && link instanceof AutoLink autoLink) {
+                out.appendEscapedText(autoLink.getText().unescape());
+            } else if (!link.hasChildren() && link instanceof MailLink mailLink) {
+                out.appendEscapedText(mailLink.getText().unescape());
+            } else {
+                children(link);
+            }
+        }
+
+        private void image(String src) {
+            out.beginVerbatim();
+            out.append(images.apply(src));
+            out.endVerbatim();
+        }
+
+        private String linkUrl(Node node) {
+            if (node instanceof Link link) {
+                return link.getUrl().unescape();
+            }
+            if (node instanceof AutoLink autoLink) {
+                return autoLink.getUrl().unescape();
+            }
+            if (node instanceof MailLink mailLink) {
+                return "mailto:" + mailLink.getText().unescape();
+            }
+            if (node instanceof LinkRef ref && ref.isDefined()) {
+                Reference reference = ref.getReferenceNode(document);
+                return reference == null ? null : reference.getUrl().unescape();
+            }
+            return null;
+        }
+
+        private boolean isTextOnly(Node parent) {
+            for (Node child = parent.getFirstChild(); child != null; child = child.getNext()) {
+                if (!(child instanceof Text || child instanceof HtmlEntity)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Whether an inline element keeps its markdown markers: only if everything nested in it
+         * was rewritten at an earlier step than its own, as in the old pipeline.
+         */
+        private boolean convertsInline(Node node) {
+            int step = step(node);
+            for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+                if (child instanceof Text || child instanceof HtmlEntity || child instanceof SoftLineBreak) {
+                    continue;
+                }
+                if (child instanceof RefNode ref && !ref.isDefined()) {
+                    continue;
+                }
+                if (child instanceof TextBase) {
+                    if (!convertsInline(child)) {
+                        return false;
+                    }
+                    continue;
+                }
+                int childStep = step(child);
+                if (childStep >= step || !convertsInline(child)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int step(Node node) {
+            if (node instanceof TextBase || node instanceof RefNode ref && !ref.isDefined()) {
+                return 0;
+            }
+            if (node instanceof HardLineBreak) {
+                return STEP_BREAK;
+            }
+            if (node instanceof HtmlInline) {
+                String tag = node.getChars().toString().toLowerCase();
+                if (tag.startsWith("<br")) {
+                    return STEP_BREAK;
+                }
+                return tag.startsWith("<img") && tag.contains("src=\"") ? STEP_IMAGE : STEP_NEVER;
+            }
+            if (node instanceof Code) {
+                return STEP_CODE;
+            }
+            if (node instanceof StrongEmphasis) {
+                return STEP_STRONG;
+            }
+            if (node instanceof Emphasis) {
+                return STEP_EMPHASIS;
+            }
+            if (node instanceof Image || node instanceof ImageRef) {
+                return STEP_IMAGE;
+            }
+            if (node instanceof LinkNode || node instanceof LinkRef) {
+                return linkUrl(node) != null ? STEP_LINK : STEP_NEVER;
+            }
+            return STEP_NEVER;
+        }
+
+        /**
+         * Literal text of a subtree with all formatting dropped, as used for H1/H2 boxes and table cells.
+         */
+        private String plainText(Node parent) {
+            StringBuilder text = new StringBuilder();
+            appendPlainText(parent, text);
+            return text.toString();
+        }
+
+        private void appendPlainText(Node parent, StringBuilder text) {
+            for (Node child = parent.getFirstChild(); child != null; child = child.getNext()) {
+                if (child instanceof Text || child instanceof HtmlEntity
+                        || child instanceof RefNode ref && !ref.isDefined()) {
+                    text.append(child.getChars().unescape());
+                } else if (child instanceof Code code) {
+                    text.append(code.getText());
+                } else if (child instanceof SoftLineBreak || child instanceof HardLineBreak) {
+                    text.append('\n');
+                } else if (child instanceof HtmlInline || child instanceof HtmlInlineComment
+                        || child instanceof Image || child instanceof ImageRef) {
+                    // Tags were stripped from header and cell text
+                } else if (!child.hasChildren() && child instanceof AutoLink autoLink) {
+                    text.append(autoLink.getText().unescape());
+                } else if (!child.hasChildren() && child instanceof MailLink mailLink) {
+                    text.append(mailLink.getText().unescape());
+                } else {
+                    appendPlainText(child, text);
+                }
+            }
+        }
+
+        /**
+         * Raw HTML passes through the markdown parser untouched; keep line breaks and images,
+         * drop every other tag and any character entity.
+         */
+        private void rawHtml(CharSequence html) {
+            int length = html.length();
+            int i = 0;
+            while (i < length) {
+                char c = html.charAt(i);
+                if (c == '<') {
+                    int close = indexOf(html, '>', i + 1);
+                    if (close > i + 1) {
+                        rawTag(html.subSequence(i, close + 1).toString());
+                        i = close + 1;
+                        continue;
+                    }
+                } else if (c == '&') {
+                    int end = entityEnd(html, i + 1);
+                    if (end > 0) {
+                        i = end;
+                        continue;
+                    }
+                }
+                out.append(c);
+                i++;
+            }
+        }
+
+        private void rawTag(String tag) {
+            String lower = tag.toLowerCase();
+            if (lower.startsWith("<br")) {
+                out.newline();
+            } else if (lower.startsWith("<img")) {
+                int src = lower.indexOf("src=\"");
+                int end = src < 0 ? -1 : tag.indexOf('"', src + 5);
+                out.beginVerbatim();
+                out.append(end < 0 ? "[Image]" : images.apply(tag.substring(src + 5, end)));
+                out.endVerbatim();
+            } else if (lower.startsWith("</p")) {
+                out.newline();
+            }
+        }
+
+        /**
+         * End index (exclusive) of a character reference starting after '&', or -1 if there isn't one.
+         */
+        private static int entityEnd(CharSequence text, int from) {
+            int i = from;
+            while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '#')) {
+                i++;
+            }
+            return i > from && i < text.length() && text.charAt(i) == ';' ? i + 1 : -1;
+        }
+
+        private static int indexOf(CharSequence text, char c, int from) {
+            for (int i = from; i < text.length(); i++) {
+                if (text.charAt(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Output buffer that folds whitespace as it goes: any run of whitespace containing a line
+     * break becomes a single newline, other runs are kept verbatim, and the result is trimmed.
+     *
+     * <p>With a width, a line about to overflow is broken at its last run of spaces (or, for a
+     * single long word, right there), except between beginVerbatim and endVerbatim, where the
+     * caller has already laid the lines out.
+     */
+    static final class AsciiWriter {
+        private final StringBuilder out;
+        private final int width;
+        private int pendingStart = -1;
+        private boolean pendingNewline;
+        private int lineStart;
+        private int breakStart = -1;
+        private int breakEnd;
+        private int verbatim;
+
+        AsciiWriter(int capacity) {
+            this(capacity, 0);
+        }
+
+        AsciiWriter(int capacity, int width) {
+            this.out = new StringBuilder(capacity);
+            this.width = width;
+        }
+
+        void beginVerbatim() {
+            verbatim++;
+        }
+
+        void endVerbatim() {
+            verbatim--;
+        }
+
+        AsciiWriter newline() {
+            return append('\n');
+        }
+
+        AsciiWriter append(CharSequence text) {
+            for (int i = 0, n = text.length(); i < n; i++) {
+                append(text.charAt(i));
+            }
+            return this;
+        }
+
+        AsciiWriter repeat(char c, int count) {
+            for (int i = 0; i < count; i++) {
+                append(c);
+            }
+            return this;
+        }
+
+        /**
+         * Append body text, dropping the characters the HTML renderer escaped to entities.
+         */
+        AsciiWriter appendEscapedText(CharSequence text) {
+            for (int i = 0, n = text.length(); i < n; i++) {
+                char c = text.charAt(i);
+                if (c != '&' && c != '<' && c != '>' && c != '"') {
+                    append(c);
+                }
+            }
+            return this;
+        }
+
+        AsciiWriter append(char c) {
+            if (isWhitespace(c)) {
+                if (pendingStart < 0) {
+                    pendingStart = out.length();
+                }
+                pendingNewline |= c == '\n';
+                out.append(c);
+                return this;
+            }
+
+            if (pendingStart >= 0) {
+                if (pendingStart == 0) {
+                    out.setLength(0);
+                    lineStart = 0;
+                    breakStart = -1;
+                } else if (pendingNewline) {
+                    out.setLength(pendingStart);
+                    out.append('\n');
+                    lineStart = out.length();
+                    breakStart = -1;
+                } else {
+                    breakStart = pendingStart;
+                    breakEnd = out.length();
+                }
+                pendingStart = -1;
+                pendingNewline = false;
+            }
+            if (width > 0 && verbatim == 0 && out.length() - lineStart >= width) {
+                if (breakStart > lineStart) {
+                    out.replace(breakStart, breakEnd, "\n");
+                    lineStart = breakStart + 1;
+                } else {
+                    out.append('\n');
+                    lineStart = out.length();
+                }
+                breakStart = -1;
+            }
+            if (out.length() > 0 || c > ' ') {
+                out.append(c);
+            }
+            return this;
+        }
+
+        String finish() {
+            if (pendingStart >= 0) {
+                out.setLength(pendingStart);
+                pendingStart = -1;
+                pendingNewline = false;
+            }
+            int end = out.length();
+            while (end > 0 && out.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            out.setLength(end);
+            return out.toString();
+        }
+
+        private static boolean isWhitespace(char c) {
+            // Same set as the regex \s class the old pipeline collapsed
+            return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.jtdev.website.service;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+
+/**
+ * Turns an image into a block of ASCII glyphs, one per pixel of a scaled-down copy. The glyph
+ * loop reads the scaled image's packed int pixels straight from its backing array, weighs the
+ * channels by perceived brightness and maps each pixel through a 256-entry glyph table into a
+ * char array sized for the whole block, so it does no per-pixel calls or allocation.
+ */
+final class AsciiImageKernel {
+
+    // ITU-R BT.601 luma weights (0.299, 0.587, 0.114) in 8-bit fixed point; they sum to 256
+    private static final int RED_WEIGHT = 77;
+    private static final int GREEN_WEIGHT = 150;
+    private static final int BLUE_WEIGHT = 29;
+
+    private AsciiImageKernel() {
+    }
+
+    /**
+     * The image as rows of width glyphs from ramp (darkest first), framed by blank lines.
+     */
+    static String render(BufferedImage image, int width, String ramp) {
+        return glyphs(scale(image, width), ramp);
+    }
+
+    /**
+     * Scale to width columns; terminal cells are about twice as tall as wide, so halve the height.
+     */
+    static BufferedImage scale(BufferedImage image, int width) {
+        int height = (int) ((double) image.getHeight() / image.getWidth() * width * 0.5);
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.drawImage(image, 0, 0, width, height, null);
+        g2d.dispose();
+        return scaled;
+    }
+
+    /**
+     * One glyph per pixel of an image from {@link #scale}, each row ending in a newline.
+     */
+    static String glyphs(BufferedImage scaled, String ramp) {
+        int width = scaled.getWidth();
+        int height = scaled.getHeight();
+        int[] pixels = ((DataBufferInt) scaled.getRaster().getDataBuffer()).getData();
+        int stride = ((SinglePixelPackedSampleModel) scaled.getSampleModel()).getScanlineStride();
+        char[] table = glyphTable(ramp);
+
+        // Leading and trailing newline frame the block, as the inline renderer expects
+        char[] out = new char[(width + 1) * height + 2];
+        int o = 0;
+        out[o++] = '\n';
+        for (int y = 0; y < height; y++) {
+            int row = y * stride;
+            for (int x = 0; x < width; x++) {
+                int rgb = pixels[row + x];
+                int luma = (RED_WEIGHT * ((rgb >> 16) & 0xff)
+                        + GREEN_WEIGHT * ((rgb >> 8) & 0xff)
+                        + BLUE_WEIGHT * (rgb & 0xff)) >> 8;
+                out[o++] = table[luma];
+            }
+            out[o++] = '\n';
+        }
+        out[o] = '\n';
+        return new String(out);
+    }
+
+    private static char[] glyphTable(String ramp) {
+        char[] table = new char[256];
+        int last = ramp.length() - 1;
+        for (int luma = 0; luma < 256; luma++) {
+            table[luma] = ramp.charAt(last - luma * last / 255);
+        }
+        return table;
+    }
+}
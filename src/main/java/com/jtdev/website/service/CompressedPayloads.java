@@ -0,0 +1,138 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of the most-hit content responses, each held next to a gzip copy made
+ * once when the body is first built, so requests only pick a variant instead of compressing.
+ * Entries are stamped with the content version they were built from and are rebuilt when it
+ * changes; the whole cache is a {@link RenderCache} bounded by the bytes it holds, published as
+ * {@code content.payload} with the other cache meters.
+ */
+@Component
+public class CompressedPayloads {
+
+    /**
+     * Bodies this small gain little from compression and aren't worth a second copy.
+     */
+    static final int MIN_COMPRESS_BYTES = 256;
+
+    private final JsonMapper jsonMapper;
+    private final RenderCache<Object, Payload> cache;
+
+    public CompressedPayloads(JsonMapper jsonMapper, ContentProperties properties, MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.cache = new RenderCache<>(properties.getRenderCache().getMaxPayloadBytes(), Payload::bytes);
+        new RenderCacheMetrics(cache, "content.payload", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * A response body with its precompressed variant; gzip is null when it wasn't worth making.
+     */
+    public record Payload(byte[] identity, byte[] gzip) {
+        long bytes() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    /**
+     * The cached payload for the key if it was built from this version, otherwise the body built,
+     * serialized and compressed now and kept for the next request.
+     */
+    public Payload get(Object key, String version, Callable<?> body) throws Exception {
+        Payload cached = cache.get(key, version);
+        if (cached != null) {
+            return cached;
+        }
+
+        Payload payload = compress(jsonMapper.writeValueAsBytes(body.call()));
+        cache.put(key, version, payload);
+        return payload;
+    }
+
+    /**
+     * A payload for a one-off body, such as an error, that isn't worth keeping.
+     */
+    public Payload uncached(Object body) {
+        return new Payload(jsonMapper.writeValueAsBytes(body), null);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    RenderCache<Object, Payload> cache() {
+        return cache;
+    }
+
+    /**
+     * Whether the request's Accept-Encoding admits gzip, either by name or through "*",
+     * and doesn't turn it down with q=0.
+     */
+    public static boolean acceptsGzip(HttpHeaders headers) {
+        Boolean gzip = null;
+        boolean any = false;
+        for (String header : headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (name.equals("gzip")) {
+                    gzip = acceptable(parts);
+                } else if (name.equals("*")) {
+                    any = acceptable(parts);
+                }
+            }
+        }
+        // A gzip entry of its own overrides whatever "*" says
+        return gzip != null ? gzip : any;
+    }
+
+    private static boolean acceptable(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    static Payload compress(byte[] identity) {
+        if (identity.length < MIN_COMPRESS_BYTES) {
+            return new Payload(identity, null);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(identity.length / 3);
+        try (OutputStream gzip = new BestGzipOutputStream(buffer)) {
+            gzip.write(identity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to gzip payload", e);
+        }
+        byte[] compressed = buffer.toByteArray();
+        return new Payload(identity, compressed.length < identity.length ? compressed : null);
+    }
+
+    // Compression happens once per version, so it's worth spending the extra CPU on the smallest output
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+        BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import com.jtdev.website.model.BlogMetadata;
+import com.jtdev.website.model.PortfolioMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the content pipeline produces, rendered at build time so an instance can start
+ * serving without running flexmark, the image kernel or PDFBox. {@link #main} writes it into
+ * target/classes during process-classes; at startup it's memory-mapped when it's a plain file
+ * and read once when it's packed in the jar.
+ *
+ * <p>Layout (big-endian): magic, format and table-of-contents length, then the table of
+ * contents, then the rendered text as UTF-8. For each document the table holds its path, a
+ * fingerprint of the source it was rendered from, its blog or project metadata, and the offset
+ * and length of its render at each width. Renders stay as bytes until asked for, and callers only
+ * use an entry whose fingerprint still matches the source, rendering anything else themselves.
+ */
+final class ContentBundle {
+
+    static final ContentBundle EMPTY = new ContentBundle(Map.of(), ByteBuffer.allocate(0));
+
+    private static final int MAGIC = 0x4A544342; // "JTCB"
+    // Bump whenever the layout below changes
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 12;
+
+    private final Map<String, Entry> entries;
+    private final ByteBuffer text;
+
+    private ContentBundle(Map<String, Entry> entries, ByteBuffer text) {
+        this.entries = entries;
+        this.text = text;
+    }
+
+    /**
+     * A document as written to the bundle; renders are keyed by width, UNWRAPPED included.
+     */
+    record Document(String path, long fingerprint, BlogMetadata blog, PortfolioMetadata project,
+                    Map<Integer, String> renders) {
+    }
+
+    /**
+     * A document as read back: its metadata, and where each width's render lies in the text section.
+     */
+    record Entry(long fingerprint, BlogMetadata blog, PortfolioMetadata project, Map<Integer, Slice> renders) {
+    }
+
+    record Slice(int offset, int length) {
+    }
+
+    /**
+     * Render every markdown file under a content directory, and the resume, into a bundle.
+     * Arguments: the content directory and the bundle to write.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ContentBundle <content directory> <bundle file>");
+        }
+        long start = System.nanoTime();
+        ContentProperties properties = new ContentProperties();
+        properties.setDirectory(args[0]);
+        ContentService contentService = new ContentService(new DefaultResourceLoader(), properties, new SimpleMeterRegistry());
+        try {
+            int documents = contentService.writeBundle(Path.of(args[1]));
+            System.out.printf("Pre-rendered %d documents into %s in %d ms%n",
+                    documents, args[1], (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            contentService.close();
+        }
+    }
+
+    static void write(Path file, List<Document> documents) throws IOException {
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        ByteArrayOutputStream toc = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(toc);
+        out.writeInt(documents.size());
+        for (Document document : documents) {
+            writeString(out, document.path());
+            out.writeLong(document.fingerprint());
+            writeBlog(out, document.blog());
+            writeProject(out, document.project());
+            out.writeInt(document.renders().size());
+            for (Map.Entry<Integer, String> render : document.renders().entrySet()) {
+                byte[] bytes = render.getValue().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(render.getKey());
+                out.writeInt(text.size());
+                out.writeInt(bytes.length);
+                text.write(bytes);
+            }
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (DataOutputStream bundle = new DataOutputStream(Files.newOutputStream(file))) {
+            bundle.writeInt(MAGIC);
+            bundle.writeInt(FORMAT);
+            bundle.writeInt(toc.size());
+            toc.writeTo(bundle);
+            text.writeTo(bundle);
+        }
+    }
+
+    /**
+     * The bundle at a location, or EMPTY when there isn't one.
+     *
+     * @throws IOException if it can't be read or was written in another format
+     */
+    static ContentBundle open(Resource resource) throws IOException {
+        if (!resource.exists()) {
+            return EMPTY;
+        }
+        ByteBuffer bytes;
+        if (resource.isFile()) {
+            try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        } else {
+            bytes = ByteBuffer.wrap(resource.getContentAsByteArray());
+        }
+        return read(bytes);
+    }
+
+    private static ContentBundle read(ByteBuffer bytes) throws IOException {
+        if (bytes.remaining() < HEADER_BYTES || bytes.getInt(0) != MAGIC) {
+            throw new IOException("not a content bundle");
+        }
+        if (bytes.getInt(4) != FORMAT) {
+            throw new IOException("bundle format " + bytes.getInt(4) + ", expected " + FORMAT);
+        }
+        int tocLength = bytes.getInt(8);
+        ByteBuffer toc = bytes.slice(HEADER_BYTES, tocLength);
+        ByteBuffer text = bytes.slice(HEADER_BYTES + tocLength, bytes.limit() - HEADER_BYTES - tocLength);
+
+        int count = toc.getInt();
+        Map<String, Entry> entries = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String path = readString(toc);
+            long fingerprint = toc.getLong();
+            BlogMetadata blog = readBlog(path, toc);
+            PortfolioMetadata project = readProject(path, toc);
+            int renderCount = toc.getInt();
+            Map<Integer, Slice> renders = new HashMap<>(renderCount * 2);
+            for (int r = 0; r < renderCount; r++) {
+                int width = toc.getInt();
+                Slice slice = new Slice(toc.getInt(), toc.getInt());
+                if (slice.offset() < 0 || slice.length() < 0 || slice.offset() + slice.length() > text.limit()) {
+                    throw new IOException("render of " + path + " lies outside the bundle");
+                }
+                renders.put(width, slice);
+            }
+            entries.put(path, new Entry(fingerprint, blog, project, Map.copyOf(renders)));
+        }
+        return new ContentBundle(Map.copyOf(entries), text);
+    }
+
+    /**
+     * The bundled document or resume at a path, or null when it wasn't bundled.
+     */
+    Entry entry(String path) {
+        return entries.get(path);
+    }
+
+    /**
+     * An entry's render at a width, decoded from the text section, or null if that width wasn't bundled.
+     */
+    String render(Entry entry, int width) {
+        Slice slice = entry.renders().get(width);
+        if (slice == null) {
+            return null;
+        }
+        // An absolute slice, so concurrent readers never share a position
+        return StandardCharsets.UTF_8.decode(text.slice(slice.offset(), slice.length())).toString();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static void writeBlog(DataOutputStream out, BlogMetadata blog) throws IOException {
+        out.writeBoolean(blog != null);
+        if (blog != null) {
+            writeString(out, blog.getTitle());
+            writeString(out, blog.getPublished() == null ? null : blog.getPublished().toString());
+            writeStrings(out, blog.getTags());
+            writeString(out, blog.getExcerpt());
+        }
+    }
+
+    private static BlogMetadata readBlog(String path, ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        String title = readString(in);
+        String published = readString(in);
+        List<String> tags = readStrings(in);
+        String excerpt = readString(in);
+        return new BlogMetadata(fileName(path), title, published == null ? null : LocalDate.parse(published), tags, excerpt);
+    }
+
+    private static void writeProject(DataOutputStream out, PortfolioMetadata project) throws IOException {
+        out.writeBoolean(project != null);
+        if (project != null) {
+            writeString(out, project.getTitle());
+            writeStrings(out, project.getTechnologies());
+            writeString(out, project.getCompany());
+            writeString(out, project.getYear());
+            writeString(out, project.getExcerpt());
+        }
+    }
+
+    private static PortfolioMetadata readProject(String path, ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        String title = readString(in);
+        List<String> technologies = readStrings(in);
+        String company = readString(in);
+        String year = readString(in);
+        String excerpt = readString(in);
+        return new PortfolioMetadata(fileName(path), title, technologies, company, year, excerpt);
+    }
+
+    /**
+     * Length-prefixed UTF-8, with -1 for null.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = StandardCharsets.UTF_8.decode(in.slice(in.position(), length)).toString();
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,154 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs blocking content work (disk reads, flexmark, PDFBox, ImageIO) on a bounded scheduler so it
+ * never holds up a Netty event loop. At most threads + queue-capacity calls are admitted at once
+ * (running or waiting, across all workers); calls beyond that fail fast with 503, and calls that
+ * outlive the timeout fail with 504. A timed-out call is interrupted, but work that never checks
+ * for interruption (a flexmark render, say) keeps its worker and its slot until it finishes, so
+ * sustained slowness shows up as 503s rather than unbounded queueing.
+ *
+ * <p>Every call is timed as {@code content.calls}, tagged with whether it ran on an event-loop
+ * thread; {@code content.executor.mode=inline} runs calls in place to get the "before" picture.
+ *
+ * <p>Keyed calls are coalesced: while one is running, identical calls wait for its result instead
+ * of queueing their own, so a burst of cold requests for one document costs a single render.
+ * Those are counted as {@code content.calls.coalesced}.
+ */
+@Component
+public class ContentExecutor {
+
+    private final Scheduler scheduler;
+    private final Duration timeout;
+    private final boolean inline;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore admitted;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final SingleFlight<Object> flights = new SingleFlight<>();
+
+    public ContentExecutor(ContentProperties properties, MeterRegistry meterRegistry) {
+        ContentProperties.Executor config = properties.getExecutor();
+        this.timeout = config.getTimeout();
+        this.inline = config.getMode() == ContentProperties.Executor.Mode.INLINE;
+        this.meterRegistry = meterRegistry;
+
+        ThreadFactory threads = config.isVirtualThreads()
+                ? Thread.ofVirtual().name("content-", 0).factory()
+                : Thread.ofPlatform().name("content-", 0).daemon().factory();
+        // The scheduler's queue cap is per worker; the global limit is the admitted semaphore
+        this.scheduler = Schedulers.newBoundedElastic(config.getThreads(), config.getQueueCapacity(), threads, 60);
+        this.admitted = new Semaphore(config.getThreads() + config.getQueueCapacity());
+
+        this.rejected = Counter.builder("content.calls.rejected")
+                .description("Content calls shed because every worker and queue slot was taken")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("content.calls.timeout")
+                .description("Content calls that took longer than content.executor.timeout")
+                .register(meterRegistry);
+        FunctionCounter.builder("content.calls.coalesced", flights, SingleFlight::joinedCount)
+                .description("Keyed content calls that shared one already running instead of starting their own")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Defer a blocking call onto the content workers.
+     */
+    public <T> Mono<T> call(Callable<T> work) {
+        Mono<T> call = Mono.defer(() -> {
+            if (!admitted.tryAcquire()) {
+                return Mono.error(new RejectedExecutionException("Every content worker and queue slot is taken"));
+            }
+            // Whichever comes first, the work starting or the call being dropped while still queued,
+            // owns the slot; the work gives it back when it finishes, however long after a timeout
+            AtomicBoolean claimed = new AtomicBoolean();
+            Mono<T> admittedCall = Mono.fromCallable(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    return timed(work);
+                } finally {
+                    admitted.release();
+                }
+            });
+            if (!inline) {
+                admittedCall = admittedCall.subscribeOn(scheduler);
+            }
+            return admittedCall.doFinally(signal -> {
+                if (claimed.compareAndSet(false, true)) {
+                    admitted.release();
+                }
+            });
+        });
+        return call.timeout(timeout)
+                .onErrorMap(RejectedExecutionException.class, e -> {
+                    rejected.increment();
+                    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Content workers are busy", e);
+                })
+                .onErrorMap(TimeoutException.class, e -> {
+                    timedOut.increment();
+                    return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Content call timed out", e);
+                });
+    }
+
+    /**
+     * Defer a blocking call onto the content workers, sharing it with any running call for an equal
+     * key. The key must identify the result completely, including the content version it's from.
+     */
+    public <T> Mono<T> call(Object key, Callable<T> work) {
+        return flights.execute(key, () -> call(work));
+    }
+
+    /**
+     * Slots free for new calls, out of threads + queue-capacity.
+     */
+    int availableSlots() {
+        return admitted.availablePermits();
+    }
+
+    private <T> T timed(Callable<T> work) throws Exception {
+        boolean eventLoop = Schedulers.isInNonBlockingThread();
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return work.call();
+        } catch (Exception e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            Timer.builder("content.calls")
+                    .description("Time spent in blocking content work, by the kind of thread it ran on")
+                    .tag("event.loop", String.valueOf(eventLoop))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.dispose();
+    }
+}
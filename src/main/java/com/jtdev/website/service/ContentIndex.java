@@ -0,0 +1,162 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.model.BlogMetadata;
+import com.jtdev.website.model.PortfolioMetadata;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of everything the content endpoints serve from the content store:
+ * directory listings, blog and portfolio metadata, and the rendered body of every markdown file.
+ * It is built once up front so listing, search and filter requests never touch the disk, and
+ * replaced wholesale (never mutated) when files change.
+ */
+final class ContentIndex {
+
+    static final ContentIndex EMPTY = new ContentIndex(Map.of(), new LinkedHashMap<>());
+
+    private final Map<String, List<String>> listings;
+    private final Map<String, Entry> entries;
+    private final List<BlogMetadata> blogs;
+    private final List<PortfolioMetadata> portfolio;
+    private final SearchIndex search;
+    private final PortfolioFacets facets;
+    private final long version;
+    private final Instant builtAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    /**
+     * @param entries indexed markdown files by path, in the order projects should be listed
+     */
+    ContentIndex(Map<String, List<String>> listings, LinkedHashMap<String, Entry> entries) {
+        this.listings = Map.copyOf(listings);
+        this.entries = Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+
+        List<Entry> posts = new ArrayList<>();
+        List<PortfolioMetadata> portfolio = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.blog() != null) {
+                posts.add(entry);
+            }
+            if (entry.project() != null) {
+                portfolio.add(entry.project());
+            }
+        }
+
+        // Sort by published date (newest first)
+        posts.sort((a, b) -> {
+            if (a.blog().getPublished() == null) return 1;
+            if (b.blog().getPublished() == null) return -1;
+            return b.blog().getPublished().compareTo(a.blog().getPublished());
+        });
+
+        this.blogs = posts.stream().map(Entry::blog).toList();
+        this.portfolio = List.copyOf(portfolio);
+        this.facets = portfolio.isEmpty() ? PortfolioFacets.EMPTY : new PortfolioFacets(portfolio);
+        this.search = posts.isEmpty() ? SearchIndex.EMPTY
+                : new SearchIndex(blogs, posts.stream().map(entry -> entry.document().content()).toList());
+        this.version = version(this.listings, this.entries);
+    }
+
+    /**
+     * Hash of everything served from the snapshot. It's taken over rendered output, not sources,
+     * so an edited image changes it too, while re-indexing unchanged files leaves it alone.
+     */
+    private static long version(Map<String, List<String>> listings, Map<String, Entry> entries) {
+        long version = listings.hashCode();
+        for (Entry entry : entries.values()) {
+            version = version * 1_000_003 + entry.document().path().hashCode();
+            version = version * 1_000_003 + entry.document().content().hashCode();
+        }
+        return version;
+    }
+
+    /**
+     * A copy with some files re-indexed, some dropped and some listings replaced. A null listing
+     * removes that directory. Updated entries keep their position; new ones go at the end.
+     */
+    ContentIndex withChanges(Map<String, List<String>> changedListings, Map<String, Entry> updated, Set<String> removed) {
+        Map<String, List<String>> nextListings = new HashMap<>(listings);
+        changedListings.forEach((directory, files) -> {
+            if (files == null) {
+                nextListings.remove(directory);
+            } else {
+                nextListings.put(directory, files);
+            }
+        });
+
+        LinkedHashMap<String, Entry> nextEntries = new LinkedHashMap<>(entries);
+        nextEntries.keySet().removeAll(removed);
+        nextEntries.putAll(updated);
+        return new ContentIndex(nextListings, nextEntries);
+    }
+
+    /**
+     * File names under a top-level directory such as "blog", or null if it wasn't indexed.
+     */
+    List<String> listing(String directory) {
+        return listings.get(directory);
+    }
+
+    /**
+     * Rendered markdown for a path such as "blog/About.md", or null if it wasn't indexed.
+     */
+    RenderedDocument document(String path) {
+        Entry entry = entries.get(path);
+        return entry == null ? null : entry.document();
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * When this snapshot was built, to the second (the resolution of Last-Modified).
+     */
+    Instant builtAt() {
+        return builtAt;
+    }
+
+    Set<String> paths() {
+        return entries.keySet();
+    }
+
+    int documentCount() {
+        return entries.size();
+    }
+
+    List<BlogMetadata> blogs() {
+        return blogs;
+    }
+
+    List<PortfolioMetadata> portfolio() {
+        return portfolio;
+    }
+
+    SearchIndex search() {
+        return search;
+    }
+
+    PortfolioFacets facets() {
+        return facets;
+    }
+
+    /**
+     * @param fingerprint content hash of the markdown source the body was rendered from
+     */
+    record RenderedDocument(String path, long fingerprint, String content) {
+    }
+
+    /**
+     * One indexed markdown file; blog and project are only set for top-level files in those directories.
+     */
+    record Entry(RenderedDocument document, BlogMetadata blog, PortfolioMetadata project) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.jtdev.website.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage meters for turning a content file into terminal text, tagged by the top-level content
+ * directory so blog and portfolio documents can be told apart:
+ * <ul>
+ *   <li>{@code content.stage} timers for {@code read}, {@code parse} (flexmark), {@code layout}
+ *       (the AST walk, not counting images) and {@code image} (each inlined image)</li>
+ *   <li>{@code content.document.bytes} and {@code content.document.chars}, the size of the source
+ *       read and of the text rendered from it</li>
+ *   <li>{@code content.document.images}, images inlined per rendered document</li>
+ * </ul>
+ * All publish percentile histograms, bounded to plausible ranges to keep the bucket count down.
+ * Meters are looked up once per directory, so recording is just clock reads and counter updates;
+ * only files that exist are measured, which keeps the directory tag to the store's own directories.
+ */
+final class ContentMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, Stages> byDirectory = new ConcurrentHashMap<>();
+
+    ContentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    Stages stages(String path) {
+        String directory = path.contains("/") ? path.substring(0, path.indexOf('/')) : "";
+        return byDirectory.computeIfAbsent(directory, Stages::new);
+    }
+
+    final class Stages {
+        private final Timer read;
+        private final Timer parse;
+        private final Timer layout;
+        private final Timer image;
+        private final DistributionSummary bytesIn;
+        private final DistributionSummary charsOut;
+        private final DistributionSummary images;
+
+        private Stages(String directory) {
+            this.read = stage("read", directory);
+            this.parse = stage("parse", directory);
+            this.layout = stage("layout", directory);
+            this.image = stage("image", directory);
+            this.bytesIn = DistributionSummary.builder("content.document.bytes")
+                    .description("Size of content files read for rendering")
+                    .baseUnit("bytes")
+                    .tag("directory", directory)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(64.0)
+                    .maximumExpectedValue(16.0 * 1024 * 1024)
+                    .register(registry);
+            this.charsOut = DistributionSummary.builder("content.document.chars")
+                    .description("Length of the terminal text rendered from a content file")
+                    .baseUnit("chars")
+                    .tag("directory", directory)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(64.0)
+                    .maximumExpectedValue(16.0 * 1024 * 1024)
+                    .register(registry);
+            this.images = DistributionSummary.builder("content.document.images")
+                    .description("Images inlined into a rendered content file")
+                    .tag("directory", directory)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(64.0)
+                    .register(registry);
+        }
+
+        private Timer stage(String stage, String directory) {
+            return Timer.builder("content.stage")
+                    .description("Time spent in each stage of rendering a content file")
+                    .tag("stage", stage)
+                    .tag("directory", directory)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        void read(long nanos, int bytes) {
+            read.record(nanos, TimeUnit.NANOSECONDS);
+            bytesIn.record(bytes);
+        }
+
+        void image(long nanos) {
+            image.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void rendered(long parseNanos, long layoutNanos, int imageCount, int chars) {
+            parse.record(parseNanos, TimeUnit.NANOSECONDS);
+            layout.record(layoutNanos, TimeUnit.NANOSECONDS);
+            images.record(imageCount);
+            charsOut.record(chars);
+        }
+    }
+}
@@ -1,415 +1,562 @@
 package com.jtdev.website.service;
 
+import com.jtdev.website.config.ContentProperties;
 import com.jtdev.website.model.BlogMetadata;
+import com.jtdev.website.model.BlogSearchPage;
+import com.jtdev.website.model.PortfolioFilterResult;
 import com.jtdev.website.model.PortfolioMetadata;
 import com.vladsch.flexmark.ext.tables.TablesExtension;
-import com.vladsch.flexmark.html.HtmlRenderer;
 import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.Document;
 import com.vladsch.flexmark.util.data.MutableDataSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.HtmlUtils;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 
 import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.zip.CRC32C;
 
 @Service
 public class ContentService {
 
+    private static final Logger log = LoggerFactory.getLogger(ContentService.class);
+    private static final Pattern HEADER_LINE = Pattern.compile("([A-Za-z][\\w-]*):\\s*(.*)");
+    private static final int IMAGE_WIDTH = 80;
+    private static final int RESUME_WIDTH = 90;
+    private static final String RESUME_PDF = "classpath:ResumeATSOptimizedLoud.pdf";
+    private static final Pattern RULE_LINE = Pattern.compile("([-=_─━])\\1{3,}");
+    private static final Pattern REMOTE_IMAGE = Pattern.compile("!\\[[^\\]]*]\\(\\s*<?https?:");
+
+    /**
+     * Terminal widths content is laid out for; a requested column count is rounded down to one of
+     * these so each document has at most this many renders cached.
+     */
+    static final int[] WIDTH_BUCKETS = {40, 80, 120, 160};
+
+    /**
+     * Width meaning "not laid out to a terminal": unwrapped paragraphs, 80-column images and a
+     * 90-column resume, which is what callers that don't send cols have always received.
+     */
+    static final int UNWRAPPED = 0;
+    private static final String IMAGE_RAMP = "@%#*+=-:. "; // from dark to light
+
     private final ResourceLoader resourceLoader;
-    private String resumeTextCache;
+    private final ContentStore store;
+    private final Parser parser;
+    private final AsciiDocumentRenderer asciiRenderer = new AsciiDocumentRenderer();
+    private final RenderCache<RenderKey, String> renderCache;
+    private final ImageRenditions imageRenditions;
+    private final RemoteImageFetcher remoteImages;
+    private final ContentMetrics metrics;
+    private final ContentProperties.Watch watch;
+    private ContentWatcher watcher;
+    private volatile ContentIndex index;
+    private volatile ContentBundle bundle;
+    // Part of every content version, so validators from a previous deploy never match this one's
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    private final Object indexLock = new Object();
+    private String resumeRawText;
+    private volatile Path resumePdf;
+    private Path extractedResumePdf;
     private final Object resumeLock = new Object();
+    private final Map<Integer, String> resumeTexts = new ConcurrentHashMap<>();
 
-    public ContentService(ResourceLoader resourceLoader) {
+    public ContentService(ResourceLoader resourceLoader, ContentProperties properties, MeterRegistry meterRegistry) {
         this.resourceLoader = resourceLoader;
+        try {
+            this.store = ContentStore.open(resourceLoader, properties.getDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open content store", e);
+        }
+
+        // The parser is immutable and thread-safe once built, so share one
+        MutableDataSet options = new MutableDataSet();
+        options.set(Parser.EXTENSIONS, java.util.Arrays.asList(TablesExtension.create()));
+        this.parser = Parser.builder(options).build();
+
+        this.watch = properties.getWatch();
+        this.renderCache = RenderCache.ofText(properties.getRenderCache().getMaxChars());
+        new RenderCacheMetrics(renderCache, "content.render", Tags.empty()).bindTo(meterRegistry);
+        this.imageRenditions = new ImageRenditions(properties.getRenderCache().getMaxImageChars());
+        new RenderCacheMetrics(imageRenditions.cache(), "content.image", Tags.empty()).bindTo(meterRegistry);
+        this.remoteImages = new RemoteImageFetcher(properties.getRemoteImages());
+        this.metrics = new ContentMetrics(meterRegistry);
+        this.bundle = openBundle(properties);
     }
 
-    public List<String> getDirectoryContents(String path) throws IOException {
-        List<String> contents = new ArrayList<>();
-
-        // Use classpath resource to find the directory
-        Resource resource = resourceLoader.getResource("classpath:directories/" + path);
-        if (resource.exists()) {
-            Path dirPath = Paths.get(resource.getURI());
-            try (Stream<Path> paths = Files.walk(dirPath)) {
-                paths.filter(Files::isRegularFile)
-                     .map(p -> p.getFileName().toString())
-                     .forEach(contents::add);
+    /**
+     * The build's pre-rendered bundle, when serving the packaged content it was rendered from.
+     * A missing or unreadable bundle just means everything is rendered at startup as before.
+     */
+    private ContentBundle openBundle(ContentProperties properties) {
+        ContentProperties.Bundle settings = properties.getBundle();
+        boolean external = properties.getDirectory() != null && !properties.getDirectory().isBlank();
+        if (!settings.isEnabled() || external) {
+            return ContentBundle.EMPTY;
+        }
+        try {
+            ContentBundle opened = ContentBundle.open(resourceLoader.getResource(settings.getLocation()));
+            if (opened.size() > 0) {
+                log.info("Opened {} with {} pre-rendered entries", settings.getLocation(), opened.size());
             }
+            return opened;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read {}, content will be rendered at runtime: {}", settings.getLocation(), e.getMessage());
+            return ContentBundle.EMPTY;
         }
-
-        return contents;
     }
 
-    public String getMarkdownContent(String path) throws IOException {
-        Resource resource = resourceLoader.getResource("classpath:directories/" + path);
-        if (!resource.exists()) {
-            return "File not found: " + path;
+    public List<String> getDirectoryContents(String path) throws IOException {
+        List<String> listing = index().listing(path);
+        if (listing != null) {
+            return listing;
         }
 
-        String markdown = new String(resource.getInputStream().readAllBytes());
+        return store.files(path).stream().map(ContentService::fileName).toList();
+    }
 
-        // Parse markdown and convert to ASCII-friendly format
-        MutableDataSet options = new MutableDataSet();
-        options.set(Parser.EXTENSIONS, java.util.Arrays.asList(TablesExtension.create()));
-        Parser parser = Parser.builder(options).build();
-        HtmlRenderer renderer = HtmlRenderer.builder(options).build();
+    /**
+     * Whether a file exists at the path, in the index or failing that in the store.
+     */
+    public boolean hasFile(String path) throws IOException {
+        return index().document(path) != null || store.read(path) != null;
+    }
 
-        Node document = parser.parse(markdown);
-        String html = renderer.render(document);
+    public String getMarkdownContent(String path) throws IOException {
+        return getMarkdownContent(path, null);
+    }
 
-        // Extract directory from path (e.g., "blog" from "blog/SAMPLE.md")
-        String dir = path.contains("/") ? path.substring(0, path.lastIndexOf('/')) : "";
-        
-        // Convert HTML to ASCII art representation
-        return convertHtmlToAscii(html, dir);
-    }
-
-    private String convertHtmlToAscii(String html, String dir) {
-        // First pass: Convert headers with dynamic borders
-        html = convertDynamicHeaders(html);
-
-        html = formatNestedLists(html);
-
-        // Convert tables before the general regex pass
-        html = convertTablesToAscii(html);
-
-        // Convert HTML elements to ASCII formatting
-        String text = html
-            // Headers already converted above
-            .replaceAll("<h3[^>]*>([^<]*)</h3>", "\n**$1**\n")
-            .replaceAll("<h4[^>]*>([^<]*)</h4>", "\n**$1**\n")
-            .replaceAll("<h5[^>]*>([^<]*)</h5>", "\n**$1**\n")
-            .replaceAll("<h6[^>]*>([^<]*)</h6>", "\n**$1**\n")
-
-            // Lists
-            .replaceAll("<ul[^>]*>", "")
-            .replaceAll("</ul>", "")
-            .replaceAll("<ol[^>]*>", "")
-            .replaceAll("</ol>", "")
-
-            // Paragraphs
-            .replaceAll("<p[^>]*>", "")
-            .replaceAll("</p>", "\n\n")
-
-            // Line breaks
-            .replaceAll("<br[^>]*>", "\n")
-
-            // Links (simplified)
-            .replaceAll("<a[^>]*href=\"([^\"]*)\"[^>]*>([^<]*)</a>", "$2 ($1)")
-
-            // Code blocks
-            .replaceAll("<pre[^>]*><code[^>]*>", "\n```\n")
-            .replaceAll("</code></pre>", "\n```\n")
-
-            // Inline code
-            .replaceAll("<code[^>]*>([^<]*)</code>", "`$1`")
-
-            // Bold and italic
-            .replaceAll("<strong[^>]*>([^<]*)</strong>", "**$1**")
-            .replaceAll("<em[^>]*>([^<]*)</em>", "*$1*");
-
-        // Handle images with ASCII art
-        Pattern imgPattern = Pattern.compile("<img[^>]*src=\"([^\"]*)\"[^>]*>");
-        Matcher matcher = imgPattern.matcher(text);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            String src = matcher.group(1);
-            String ascii = generateAsciiArt(src, dir);
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(ascii));
-        }
-        matcher.appendTail(sb);
-        text = sb.toString();
-
-        // Handle images without src
-        text = text.replaceAll("<img[^>]*>", "[Image]");
-
-        text = text
-            // Remove any remaining HTML tags
-            .replaceAll("<[^>]+>", "")
-
-            // Clean up entities and extra whitespace
-            .replaceAll("&[^;]+;", "")
-            .replaceAll("\\n\\s+", "\n")
-            .replaceAll("\\s+\\n", "\n")
-            .replaceAll("\\n{3,}", "\n\n")
-            .trim();
-
-        return text;
-    }
-
-    private String formatNestedLists(String html) {
-        Pattern pattern = Pattern.compile("(?is)<(ul|ol)[^>]*>|</(ul|ol)>|<li[^>]*>|</li>");
-        Matcher matcher = pattern.matcher(html);
-        StringBuilder result = new StringBuilder();
-        Deque<ListContext> stack = new ArrayDeque<>();
-        int lastEnd = 0;
-
-        while (matcher.find()) {
-            result.append(html, lastEnd, matcher.start());
-            String tag = matcher.group();
-            String normalized = tag.toLowerCase(Locale.ROOT);
-
-            if (normalized.startsWith("<ul")) {
-                stack.push(ListContext.unordered());
-            } else if (normalized.startsWith("<ol")) {
-                stack.push(ListContext.ordered());
-            } else if (normalized.startsWith("</ul") || normalized.startsWith("</ol")) {
-                if (!stack.isEmpty()) {
-                    stack.pop();
-                }
-                ensureTrailingNewline(result);
-            } else if (normalized.startsWith("<li")) {
-                ensureTrailingNewline(result);
-                result.append(buildListPrefix(stack));
-            } else if (normalized.startsWith("</li")) {
-                ensureTrailingNewline(result);
+    /**
+     * The document laid out for a terminal cols characters wide (rounded down to a width bucket),
+     * or unwrapped when cols is null.
+     */
+    public String getMarkdownContent(String path, Integer cols) throws IOException {
+        int width = widthBucket(cols);
+        if (width == UNWRAPPED) {
+            ContentIndex.RenderedDocument document = index().document(path);
+            if (document != null) {
+                return document.content();
             }
+        }
 
-            lastEnd = matcher.end();
+        ByteBuffer bytes = read(path);
+        if (bytes == null) {
+            return "File not found: " + path;
         }
 
-        result.append(html.substring(lastEnd));
-        return result.toString();
-    }
+        // The sources only change between deploys, so reuse the last render unless the bytes differ
+        RenderKey key = new RenderKey(path, width);
+        long fingerprint = fingerprint(bytes);
+        String cached = renderCache.get(key, fingerprint);
+        if (cached != null) {
+            return cached;
+        }
 
-    private void ensureTrailingNewline(StringBuilder builder) {
-        int length = builder.length();
-        if (length == 0 || builder.charAt(length - 1) != '\n') {
-            builder.append('\n');
+        String rendered = bundled(path, fingerprint, width);
+        if (rendered == null) {
+            rendered = renderMarkdown(decode(bytes), path, width);
         }
+        renderCache.put(key, fingerprint, rendered);
+        return rendered;
     }
 
-    private String buildListPrefix(Deque<ListContext> stack) {
-        int depth = stack.isEmpty() ? 1 : stack.size();
-        int indentSpaces = depth * 2;
-        String indent = indentSpaces > 0 ? " ".repeat(indentSpaces) : "";
-        ListContext context = stack.peek();
-
-        if (context != null && context.isOrdered()) {
-            int index = context.nextIndex();
-            return indent + index + ". ";
-        }
+    /**
+     * The build's render of a file at a width, or null unless it was rendered from these same bytes.
+     */
+    private String bundled(String path, long fingerprint, int width) {
+        ContentBundle current = bundle;
+        ContentBundle.Entry entry = current.entry(path);
+        return entry != null && entry.fingerprint() == fingerprint ? current.render(entry, width) : null;
+    }
 
-        String[] bullets = {"•", "◦", "▪", "▹", "▸"};
-        String bullet = bullets[Math.min(depth - 1, bullets.length - 1)];
-        return indent + bullet + " ";
+    /**
+     * Version of everything served from the content index, for ETags and Last-Modified. The tag
+     * changes whenever the indexed output does and on every restart, since a new build may render
+     * the same files differently.
+     */
+    public ContentVersion contentVersion() {
+        ContentIndex current = index();
+        return new ContentVersion(instanceTag + "-" + Long.toHexString(current.version()), current.builtAt());
     }
 
-    private static class ListContext {
-        private final boolean ordered;
-        private int index;
+    public record ContentVersion(String tag, Instant modified) {
+    }
 
-        private ListContext(boolean ordered) {
-            this.ordered = ordered;
+    /**
+     * The largest width bucket that fits cols (the smallest bucket for anything narrower),
+     * or UNWRAPPED for null.
+     */
+    public static int widthBucket(Integer cols) {
+        if (cols == null) {
+            return UNWRAPPED;
+        }
+        int bucket = WIDTH_BUCKETS[0];
+        for (int width : WIDTH_BUCKETS) {
+            if (width <= cols) {
+                bucket = width;
+            }
         }
+        return bucket;
+    }
 
-        static ListContext ordered() {
-            return new ListContext(true);
+    /**
+     * Build the index and lay out the resume (in parallel), then, when content.watch.enabled is set
+     * and the content lives in a directory, start watching it for edits.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        CompletableFuture<Void> resume = CompletableFuture.runAsync(this::warmResume);
+        rebuildIndex();
+        resume.join();
+
+        Path directory = store.directory();
+        if (watch.isEnabled()) {
+            if (directory == null) {
+                log.warn("content.watch.enabled is set but {} is not a directory; live reload is off", store.describe());
+            } else {
+                watcher = ContentWatcher.start(directory, watch.getDebounce(), this::applyChanges);
+                log.info("Watching {} for content changes", directory);
+            }
         }
+    }
 
-        static ListContext unordered() {
-            return new ListContext(false);
+    @PreDestroy
+    public void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
         }
-
-        boolean isOrdered() {
-            return ordered;
+        remoteImages.close();
+        store.close();
+        if (extractedResumePdf != null) {
+            Files.deleteIfExists(extractedResumePdf);
         }
+    }
 
-        int nextIndex() {
-            index++;
-            return index;
+    /**
+     * Walk the content store once, rendering files in parallel, and publish the result as
+     * the snapshot that listing, search, filter and file requests are served from.
+     */
+    public void rebuildIndex() {
+        long start = System.nanoTime();
+        ContentIndex built;
+        try {
+            built = loadIndex();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not index {}, content will be read on demand: {}", store.describe(), e.getMessage());
+            built = ContentIndex.EMPTY;
+        }
+        synchronized (indexLock) {
+            index = built;
         }
+        log.info("Indexed {} content documents from {} in {} ms",
+                built.documentCount(), store.describe(), (System.nanoTime() - start) / 1_000_000);
     }
 
-    private String convertTablesToAscii(String html) {
-        Pattern tablePattern = Pattern.compile("<table[^>]*>(.*?)</table>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
-        Matcher tableMatcher = tablePattern.matcher(html);
-        StringBuffer sb = new StringBuffer();
-        while (tableMatcher.find()) {
-            String asciiTable = renderTableAsAscii(tableMatcher.group(1));
-            tableMatcher.appendReplacement(sb, Matcher.quoteReplacement(asciiTable));
+    private ContentIndex index() {
+        ContentIndex current = index;
+        if (current == null) {
+            synchronized (indexLock) {
+                if (index == null) {
+                    rebuildIndex();
+                }
+                current = index;
+            }
         }
-        tableMatcher.appendTail(sb);
-        return sb.toString();
+        return current;
     }
 
-    private String renderTableAsAscii(String tableHtml) {
-        List<List<String>> rows = new ArrayList<>();
+    private ContentIndex loadIndex() throws IOException {
+        Map<String, List<String>> listings = new HashMap<>();
+        List<String> markdownFiles = new ArrayList<>();
+        for (String directory : store.directories()) {
+            List<String> files = store.files(directory);
+            listings.put(directory, files.stream().map(ContentService::fileName).toList());
+            files.stream()
+                    .filter(f -> f.endsWith(".md"))
+                    .forEach(markdownFiles::add);
+        }
 
-        Pattern rowPattern = Pattern.compile("<tr[^>]*>(.*?)</tr>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
-        Matcher rowMatcher = rowPattern.matcher(tableHtml);
-        while (rowMatcher.find()) {
-            List<String> cells = new ArrayList<>();
-            Pattern cellPattern = Pattern.compile("<t[hd][^>]*>(.*?)</t[hd]>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
-            Matcher cellMatcher = cellPattern.matcher(rowMatcher.group(1));
-            while (cellMatcher.find()) {
-                String cell = cellMatcher.group(1)
-                    .replaceAll("<[^>]+>", "")
-                    .replaceAll("&amp;", "&").replaceAll("&lt;", "<")
-                    .replaceAll("&gt;", ">").replaceAll("&quot;", "\"")
-                    .replaceAll("&#39;", "'").replaceAll("&nbsp;", " ")
-                    .trim();
-                cells.add(cell);
-            }
-            if (!cells.isEmpty()) rows.add(cells);
+        // Rendering (flexmark plus image decoding) dominates, so spread the files across cores
+        List<ContentIndex.Entry> indexed = markdownFiles.parallelStream()
+                .map(this::indexFile)
+                .filter(Objects::nonNull)
+                .toList();
+
+        LinkedHashMap<String, ContentIndex.Entry> entries = new LinkedHashMap<>();
+        for (ContentIndex.Entry entry : indexed) {
+            entries.put(entry.document().path(), entry);
         }
+        return new ContentIndex(listings, entries);
+    }
+
+    /**
+     * Re-index just the files a watcher reported and swap in the new snapshot. Readers keep using
+     * the old one until the single volatile write, so they never block or see a partial index.
+     * An image change re-renders the markdown next to it, since that's where it's inlined.
+     */
+    void applyChanges(Set<String> changed) {
+        // The bundle only fingerprints markdown, so once anything (an image included) has been
+        // edited it can't be trusted; render everything live from here on
+        bundle = ContentBundle.EMPTY;
+        if (changed.contains(ContentWatcher.EVERYTHING)) {
+            imageRenditions.clear();
+            rebuildIndex();
+            renderCache.clear();
+            return;
+        }
+
+        long start = System.nanoTime();
+        synchronized (indexLock) {
+            ContentIndex current = index();
+
+            Set<String> markdown = new LinkedHashSet<>();
+            Map<String, List<String>> listings = new HashMap<>();
+            for (String path : changed) {
+                String directory = path.contains("/") ? path.substring(0, path.indexOf('/')) : path;
+                if (!listings.containsKey(directory)) {
+                    try {
+                        listings.put(directory, store.directories().contains(directory)
+                                ? store.files(directory).stream().map(ContentService::fileName).toList()
+                                : null);
+                    } catch (IOException e) {
+                        log.warn("Error listing {}: {}", directory, e.getMessage());
+                    }
+                }
 
-        if (rows.isEmpty()) return "";
+                if (path.endsWith(".md")) {
+                    markdown.add(path);
+                } else {
+                    String parent = path.contains("/") ? path.substring(0, path.lastIndexOf('/') + 1) : "";
+                    current.paths().stream()
+                            .filter(p -> p.startsWith(parent) && p.indexOf('/', parent.length()) < 0)
+                            .forEach(markdown::add);
+                    // A deleted or renamed directory takes its documents with it
+                    current.paths().stream()
+                            .filter(p -> p.startsWith(path + "/"))
+                            .forEach(markdown::add);
+                }
+            }
 
-        int numCols = rows.stream().mapToInt(List::size).max().orElse(0);
-        int[] colWidths = new int[numCols];
-        for (List<String> row : rows) {
-            for (int i = 0; i < row.size(); i++) {
-                colWidths[i] = Math.max(colWidths[i], row.get(i).length());
+            Map<String, ContentIndex.Entry> updated = new HashMap<>();
+            Set<String> removed = new HashSet<>();
+            for (String path : markdown) {
+                renderCache.invalidate(new RenderKey(path, UNWRAPPED));
+                for (int width : WIDTH_BUCKETS) {
+                    renderCache.invalidate(new RenderKey(path, width));
+                }
+                ContentIndex.Entry entry = indexFile(path);
+                if (entry != null) {
+                    updated.put(path, entry);
+                } else {
+                    removed.add(path);
+                }
             }
+
+            index = current.withChanges(listings, updated, removed);
         }
+        log.info("Re-indexed {} changed content documents in {} ms",
+                changed.size(), (System.nanoTime() - start) / 1_000_000);
+    }
 
-        StringBuilder ascii = new StringBuilder("\n");
+    private ContentIndex.Entry indexFile(String path) {
+        try {
+            ByteBuffer bytes = read(path);
+            if (bytes == null) {
+                return null;
+            }
+            long fingerprint = fingerprint(bytes);
+            ContentBundle current = bundle;
+            ContentBundle.Entry bundled = current.entry(path);
+            if (bundled != null && bundled.fingerprint() == fingerprint) {
+                String content = current.render(bundled, UNWRAPPED);
+                return new ContentIndex.Entry(new ContentIndex.RenderedDocument(path, fingerprint, content),
+                        bundled.blog(), bundled.project());
+            }
 
-        // Top border
-        ascii.append("┌");
-        for (int i = 0; i < numCols; i++) {
-            ascii.append("─".repeat(colWidths[i] + 2));
-            ascii.append(i < numCols - 1 ? "┬" : "┐");
+            String markdown = decode(bytes);
+            return indexEntry(path, fingerprint, markdown, renderMarkdown(markdown, path, UNWRAPPED));
+        } catch (Exception | InternalError e) {
+            // InternalError is how a mapped file truncated mid-read (an editor saving) surfaces
+            log.warn("Error indexing {}: {}", path, e.getMessage());
+            return null;
         }
-        ascii.append("\n");
+    }
 
-        for (int r = 0; r < rows.size(); r++) {
-            List<String> row = rows.get(r);
-            ascii.append("│");
-            for (int i = 0; i < numCols; i++) {
-                String cell = i < row.size() ? row.get(i) : "";
-                ascii.append(" ").append(cell).append(" ".repeat(colWidths[i] - cell.length() + 1)).append("│");
-            }
-            ascii.append("\n");
-
-            if (r == 0 && rows.size() > 1) {
-                // Header separator
-                ascii.append("├");
-                for (int i = 0; i < numCols; i++) {
-                    ascii.append("─".repeat(colWidths[i] + 2));
-                    ascii.append(i < numCols - 1 ? "┼" : "┤");
+    private ContentIndex.Entry indexEntry(String path, long fingerprint, String markdown, String rendered) {
+        // Only top-level files in blog/ and portfolio/ are listed
+        String filename = fileName(path);
+        BlogMetadata blog = path.equals("blog/" + filename) ? parseBlogMetadata(filename, markdown) : null;
+        PortfolioMetadata project = path.equals("portfolio/" + filename) ? parsePortfolioMetadata(filename, markdown) : null;
+        return new ContentIndex.Entry(new ContentIndex.RenderedDocument(path, fingerprint, rendered), blog, project);
+    }
+
+    /**
+     * Render every markdown file at every width, and the resume, into a bundle for later startups
+     * to serve from. Meant for a service with no bundle open (the generator points it at the content
+     * directory), so everything comes from the sources. Documents with remote images are left out,
+     * since what those render to can change after the build.
+     *
+     * @return the number of documents bundled, the resume included
+     */
+    int writeBundle(Path target) throws IOException {
+        List<ContentBundle.Document> documents = new ArrayList<>();
+        for (String directory : store.directories()) {
+            for (String path : store.files(directory)) {
+                ByteBuffer bytes = path.endsWith(".md") ? store.read(path) : null;
+                if (bytes == null) {
+                    continue;
+                }
+                String markdown = decode(bytes);
+                if (REMOTE_IMAGE.matcher(markdown).find()) {
+                    log.info("Not pre-rendering {}: it links remote images", path);
+                    continue;
                 }
-                ascii.append("\n");
-            } else if (r == rows.size() - 1) {
-                // Bottom border
-                ascii.append("└");
-                for (int i = 0; i < numCols; i++) {
-                    ascii.append("─".repeat(colWidths[i] + 2));
-                    ascii.append(i < numCols - 1 ? "┴" : "┘");
+
+                Map<Integer, String> renders = new LinkedHashMap<>();
+                renders.put(UNWRAPPED, renderMarkdown(markdown, path, UNWRAPPED));
+                for (int width : WIDTH_BUCKETS) {
+                    renders.put(width, renderMarkdown(markdown, path, width));
                 }
-                ascii.append("\n");
+                ContentIndex.Entry entry = indexEntry(path, fingerprint(bytes), markdown, renders.get(UNWRAPPED));
+                documents.add(new ContentBundle.Document(path, entry.document().fingerprint(),
+                        entry.blog(), entry.project(), renders));
             }
         }
 
-        return ascii.toString();
-    }
-
-    private String convertDynamicHeaders(String html) {
-        // Convert H1 headers with dynamic borders
-        Pattern h1Pattern = Pattern.compile("<h1[^>]*>(.*?)</h1>", Pattern.DOTALL);
-        Matcher h1Matcher = h1Pattern.matcher(html);
-        StringBuffer sb1 = new StringBuffer();
-        while (h1Matcher.find()) {
-            String headerText = sanitizeHeaderText(h1Matcher.group(1));
-            int textLength = headerText.length();
-            int totalWidth = textLength + 4; // 2 spaces on each side
-            
-            String topBorder = "\n╔" + "═".repeat(totalWidth) + "╗\n";
-            String content = "║  " + headerText + "  ║\n";
-            String bottomBorder = "╚" + "═".repeat(totalWidth) + "╝\n";
-            
-            String replacement = topBorder + content + bottomBorder;
-            h1Matcher.appendReplacement(sb1, Matcher.quoteReplacement(replacement));
-        }
-        h1Matcher.appendTail(sb1);
-        html = sb1.toString();
+        Map<Integer, String> resume = new LinkedHashMap<>();
+        resume.put(UNWRAPPED, getResumeText(null));
+        for (int width : WIDTH_BUCKETS) {
+            resume.put(width, getResumeText(width));
+        }
+        documents.add(new ContentBundle.Document(RESUME_PDF, resumeFingerprint(), null, null, resume));
+
+        ContentBundle.write(target, documents);
+        return documents.size();
+    }
+
+    /**
+     * A content file's bytes from the store, timed and sized when it exists.
+     */
+    private ByteBuffer read(String path) throws IOException {
+        long start = System.nanoTime();
+        ByteBuffer bytes = store.read(path);
+        if (bytes != null) {
+            metrics.stages(path).read(System.nanoTime() - start, bytes.remaining());
+        }
+        return bytes;
+    }
+
+    String renderMarkdown(String markdown, String path, int width) {
+        ContentMetrics.Stages stages = metrics.stages(path);
+        long start = System.nanoTime();
+        Document document = parser.parse(markdown);
+        long parsed = System.nanoTime();
+
+        // Extract directory from path (e.g., "blog" from "blog/SAMPLE.md")
+        String dir = path.contains("/") ? path.substring(0, path.lastIndexOf('/')) : "";
         
-        // Convert H2 headers with dynamic borders
-        Pattern h2Pattern = Pattern.compile("<h2[^>]*>(.*?)</h2>", Pattern.DOTALL);
-        Matcher h2Matcher = h2Pattern.matcher(html);
-        StringBuffer sb2 = new StringBuffer();
-        while (h2Matcher.find()) {
-            String headerText = sanitizeHeaderText(h2Matcher.group(1));
-            int textLength = headerText.length();
-            int totalWidth = textLength + 4; // 2 spaces on each side
-            
-            String topBorder = "\n┌" + "─".repeat(totalWidth) + "┐\n";
-            String content = "│  " + headerText + "  │\n";
-            String bottomBorder = "└" + "─".repeat(totalWidth) + "┘\n";
-            
-            String replacement = topBorder + content + bottomBorder;
-            h2Matcher.appendReplacement(sb2, Matcher.quoteReplacement(replacement));
-        }
-        h2Matcher.appendTail(sb2);
-        return sb2.toString();
-    }
-
-    private String sanitizeHeaderText(String rawHeader) {
-        if (rawHeader == null) {
-            return "";
-        }
-        String noTags = rawHeader.replaceAll("<[^>]+>", "").trim();
-        return HtmlUtils.htmlUnescape(noTags);
-    }
-
-    private String generateAsciiArt(String src, String dir) {
+        // Walk the AST straight into the ASCII form; images are resolved relative to the file.
+        // Image time is taken out of the layout time so the two stages don't overlap
+        int imageWidth = width == UNWRAPPED ? IMAGE_WIDTH : width;
+        long[] imageNanos = {0};
+        int[] images = {0};
+        String rendered = asciiRenderer.render(document, width, src -> {
+            long imageStart = System.nanoTime();
+            try {
+                return generateAsciiArt(src, dir, imageWidth);
+            } finally {
+                long elapsed = System.nanoTime() - imageStart;
+                stages.image(elapsed);
+                imageNanos[0] += elapsed;
+                images[0]++;
+            }
+        });
+
+        stages.rendered(parsed - start, System.nanoTime() - parsed - imageNanos[0], images[0], rendered.length());
+        return rendered;
+    }
+
+    /**
+     * Cheap content hash used to tell whether a cached render is still current.
+     * Length is folded into the high bits so truncations never collide with the original.
+     */
+    private static long fingerprint(ByteBuffer bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.duplicate());
+        return ((long) bytes.remaining() << 32) | crc.getValue();
+    }
+
+    /**
+     * Render cache key: the same document laid out for different widths is cached separately.
+     */
+    private record RenderKey(String path, int width) {
+    }
+
+    private static String decode(ByteBuffer bytes) {
+        return StandardCharsets.UTF_8.decode(bytes.duplicate()).toString();
+    }
+
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * The image as an ASCII block, from the rendition cache when this source, width and ramp have
+     * been rendered before. Image bytes are fingerprinted so an edited file is rendered again;
+     * remote images go through the bounded, disk-cached fetcher.
+     */
+    private String generateAsciiArt(String src, String dir, int width) {
         try {
-            BufferedImage img;
             if (src.startsWith("http")) {
-                img = ImageIO.read(new URL(src));
-            } else {
-                // Assume relative to classpath directories
-                Resource res = resourceLoader.getResource("classpath:directories/" + (dir.isEmpty() ? "" : dir + "/") + src);
-                img = ImageIO.read(res.getInputStream());
+                byte[] bytes = remoteImages.fetch(src);
+                if (bytes == null) {
+                    return "[Image]";
+                }
+                ImageRenditions.Key key = new ImageRenditions.Key(src, width, IMAGE_RAMP);
+                return imageRenditions.get(key, fingerprint(ByteBuffer.wrap(bytes)),
+                        () -> AsciiImageKernel.render(ImageIO.read(new ByteArrayInputStream(bytes)), width, IMAGE_RAMP));
             }
 
-            // Resize to small size for ASCII
-            int width = 80;
-            int height = (int) ((double) img.getHeight() / img.getWidth() * width * 0.5); // adjust for char aspect
-            BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2d = resized.createGraphics();
-            g2d.drawImage(img, 0, 0, width, height, null);
-            g2d.dispose();
-
-            StringBuilder ascii = new StringBuilder();
-            String chars = "@%#*+=-:. "; // from dark to light
-            for (int y = 0; y < height; y++) {
-                for (int x = 0; x < width; x++) {
-                    int rgb = resized.getRGB(x, y);
-                    int r = (rgb >> 16) & 0xff;
-                    int g = (rgb >> 8) & 0xff;
-                    int b = rgb & 0xff;
-                    int gray = (r + g + b) / 3;
-                    int index = gray * (chars.length() - 1) / 255;
-                    ascii.append(chars.charAt(chars.length() - 1 - index));
-                }
-                ascii.append("\n");
+            // Assume relative to the markdown file's directory
+            String path = (dir.isEmpty() ? "" : dir + "/") + src;
+            ByteBuffer bytes = store.read(path);
+            if (bytes == null) {
+                return "[Image]";
             }
-            return "\n" + ascii.toString() + "\n";
+            ImageRenditions.Key key = new ImageRenditions.Key(path, width, IMAGE_RAMP);
+            return imageRenditions.get(key, fingerprint(bytes),
+                    () -> AsciiImageKernel.render(ImageIO.read(ContentStore.asStream(bytes)), width, IMAGE_RAMP));
         } catch (Exception e) {
             return "[Image]";
         }
@@ -419,7 +566,7 @@ public class ContentService {
      * Parse frontmatter from markdown content
      * Frontmatter is YAML between --- markers at the start of the file
      */
-    private Map<String, String> parseFrontmatter(String markdown) {
+    Map<String, String> parseFrontmatter(String markdown) {
         Map<String, String> frontmatter = new HashMap<>();
         
         if (!markdown.startsWith("---")) {
@@ -446,10 +593,25 @@ public class ContentService {
         return frontmatter;
     }
 
+    /**
+     * Parse leading "key: value" lines up to the first blank or non-matching line
+     */
+    Map<String, String> parseHeaderLines(String markdown) {
+        Map<String, String> header = new HashMap<>();
+        for (String line : markdown.split("\n")) {
+            Matcher matcher = HEADER_LINE.matcher(line.strip());
+            if (!matcher.matches()) {
+                break;
+            }
+            header.put(matcher.group(1), matcher.group(2).trim());
+        }
+        return header;
+    }
+
     /**
      * Extract excerpt from markdown (first paragraph or first 150 chars)
      */
-    private String extractExcerpt(String markdown) {
+    String extractExcerpt(String markdown) {
         // Remove frontmatter
         String content = markdown;
         if (content.startsWith("---")) {
@@ -480,169 +642,216 @@ public class ContentService {
     /**
      * Get list of blog posts with metadata
      */
-    public List<BlogMetadata> getBlogList() throws IOException {
-        List<BlogMetadata> blogs = new ArrayList<>();
+    public List<BlogMetadata> getBlogList() {
+        return index().blogs();
+    }
+
+    private BlogMetadata parseBlogMetadata(String filename, String markdown) {
+        Map<String, String> frontmatter = parseFrontmatter(markdown);
         
-        Resource resource = resourceLoader.getResource("classpath:directories/blog");
-        if (!resource.exists()) {
-            return blogs;
-        }
+        String title = frontmatter.getOrDefault("title", 
+            filename.replace(".md", "").replace("-", " "));
         
-        Path dirPath = Paths.get(resource.getURI());
-        try (Stream<Path> paths = Files.walk(dirPath, 1)) {
-            List<Path> mdFiles = paths
-                .filter(Files::isRegularFile)
-                .filter(p -> p.getFileName().toString().endsWith(".md"))
-                .collect(Collectors.toList());
-            
-            for (Path file : mdFiles) {
+        LocalDate published = null;
+        String publishedStr = frontmatter.get("published");
+        if (publishedStr != null) {
+            try {
+                published = LocalDate.parse(publishedStr, 
+                    DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH));
+            } catch (DateTimeParseException e) {
                 try {
-                    String filename = file.getFileName().toString();
-                    String markdown = Files.readString(file);
-                    Map<String, String> frontmatter = parseFrontmatter(markdown);
-                    
-                    String title = frontmatter.getOrDefault("title", 
-                        filename.replace(".md", "").replace("-", " "));
-                    
-                    LocalDate published = null;
-                    String publishedStr = frontmatter.get("published");
-                    if (publishedStr != null) {
-                        try {
-                            published = LocalDate.parse(publishedStr, 
-                                DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH));
-                        } catch (DateTimeParseException e) {
-                            try {
-                                published = LocalDate.parse(publishedStr);
-                            } catch (DateTimeParseException ignored) {}
-                        }
-                    }
-                    
-                    List<String> tags = new ArrayList<>();
-                    String tagsStr = frontmatter.get("tags");
-                    if (tagsStr != null) {
-                        for (String tag : tagsStr.split(",|\\s+")) {
-                            tag = tag.trim().replace("#", "");
-                            if (!tag.isEmpty()) {
-                                tags.add(tag);
-                            }
-                        }
-                    }
-                    
-                    String excerpt = extractExcerpt(markdown);
-                    
-                    blogs.add(new BlogMetadata(filename, title, published, tags, excerpt));
-                } catch (Exception e) {
-                    System.err.println("Error parsing blog metadata for " + file + ": " + e.getMessage());
+                    published = LocalDate.parse(publishedStr);
+                } catch (DateTimeParseException ignored) {}
+            }
+        }
+        
+        List<String> tags = new ArrayList<>();
+        String tagsStr = frontmatter.get("tags");
+        if (tagsStr != null) {
+            for (String tag : tagsStr.split(",|\\s+")) {
+                tag = tag.trim().replace("#", "");
+                if (!tag.isEmpty()) {
+                    tags.add(tag);
                 }
             }
         }
         
-        // Sort by published date (newest first)
-        blogs.sort((a, b) -> {
-            if (a.getPublished() == null) return 1;
-            if (b.getPublished() == null) return -1;
-            return b.getPublished().compareTo(a.getPublished());
-        });
+        String excerpt = extractExcerpt(markdown);
         
-        return blogs;
+        return new BlogMetadata(filename, title, published, tags, excerpt);
     }
 
     /**
      * Get list of portfolio projects with metadata
      */
-    public List<PortfolioMetadata> getPortfolioList() throws IOException {
-        List<PortfolioMetadata> projects = new ArrayList<>();
-        
-        Resource resource = resourceLoader.getResource("classpath:directories/portfolio");
-        if (!resource.exists()) {
-            return projects;
+    public List<PortfolioMetadata> getPortfolioList() {
+        return index().portfolio();
+    }
+
+    private PortfolioMetadata parsePortfolioMetadata(String filename, String markdown) {
+        Map<String, String> frontmatter = parseFrontmatter(markdown);
+        if (frontmatter.isEmpty()) {
+            // Portfolio pages open with bare "key: value" lines rather than a --- block
+            frontmatter = parseHeaderLines(markdown);
         }
         
-        Path dirPath = Paths.get(resource.getURI());
-        try (Stream<Path> paths = Files.walk(dirPath, 1)) {
-            List<Path> mdFiles = paths
-                .filter(Files::isRegularFile)
-                .filter(p -> p.getFileName().toString().endsWith(".md"))
-                .collect(Collectors.toList());
-            
-            for (Path file : mdFiles) {
-                try {
-                    String filename = file.getFileName().toString();
-                    String markdown = Files.readString(file);
-                    Map<String, String> frontmatter = parseFrontmatter(markdown);
-                    
-                    String title = frontmatter.getOrDefault("title", 
-                        filename.replace(".md", "").replace("-", " "));
-                    
-                    List<String> technologies = new ArrayList<>();
-                    String techStr = frontmatter.get("technologies");
-                    if (techStr != null) {
-                        for (String tech : techStr.split(",")) {
-                            tech = tech.trim();
-                            if (!tech.isEmpty()) {
-                                technologies.add(tech);
-                            }
-                        }
-                    }
-                    
-                    String company = frontmatter.getOrDefault("company", "");
-                    String year = frontmatter.getOrDefault("year", "");
-                    String excerpt = extractExcerpt(markdown);
-                    
-                    projects.add(new PortfolioMetadata(filename, title, 
-                        technologies, company, year, excerpt));
-                } catch (Exception e) {
-                    System.err.println("Error parsing portfolio metadata for " + file + ": " + e.getMessage());
+        String title = frontmatter.getOrDefault("title", 
+            filename.replace(".md", "").replace("-", " "));
+        
+        List<String> technologies = new ArrayList<>();
+        String techStr = frontmatter.get("technologies");
+        if (techStr != null) {
+            for (String tech : techStr.split(",")) {
+                tech = tech.trim();
+                if (!tech.isEmpty()) {
+                    technologies.add(tech);
                 }
             }
         }
         
-        return projects;
+        String company = frontmatter.getOrDefault("company", "");
+        String year = frontmatter.getOrDefault("year", "");
+        String excerpt = extractExcerpt(markdown);
+        
+        return new PortfolioMetadata(filename, title, 
+            technologies, company, year, excerpt);
     }
 
     public String getResumeText() throws IOException {
-        if (resumeTextCache != null) {
-            return resumeTextCache;
+        return getResumeText(null);
+    }
+
+    /**
+     * The resume boxed for a terminal cols characters wide (rounded down to a width bucket), or at
+     * its original 90 columns when cols is null. The PDF is only parsed once for all widths.
+     */
+    public String getResumeText(Integer cols) throws IOException {
+        int width = widthBucket(cols);
+        String cached = resumeTexts.get(width);
+        if (cached != null) {
+            return cached;
+        }
+        String rawText = resumeRawText();
+        return resumeTexts.computeIfAbsent(width, w -> w == UNWRAPPED
+                ? formatResumeText(rawText, RESUME_WIDTH, false)
+                : formatResumeText(rawText, w - 4, true));
+    }
+
+    /**
+     * Parse the resume and box it at every width up front, so PDFBox's class loading and parsing
+     * happen during startup rather than on someone's first resume command.
+     */
+    void warmResume() {
+        long start = System.nanoTime();
+        try {
+            if (loadBundledResume()) {
+                log.info("Loaded resume text at {} widths from the content bundle in {} ms",
+                        WIDTH_BUCKETS.length + 1, (System.nanoTime() - start) / 1_000_000);
+                return;
+            }
+            getResumeText(null);
+            for (int width : WIDTH_BUCKETS) {
+                getResumeText(width);
+            }
+            log.info("Prepared resume text at {} widths in {} ms",
+                    WIDTH_BUCKETS.length + 1, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not prepare resume text, it will be loaded on request: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Take the boxed resume from the bundle when it was laid out from this same PDF.
+     */
+    private boolean loadBundledResume() throws IOException {
+        ContentBundle current = bundle;
+        ContentBundle.Entry bundled = current.entry(RESUME_PDF);
+        if (bundled == null || bundled.fingerprint() != resumeFingerprint()) {
+            return false;
+        }
+        Map<Integer, String> texts = new HashMap<>();
+        for (int width : bundled.renders().keySet()) {
+            texts.put(width, current.render(bundled, width));
+        }
+        resumeTexts.putAll(texts);
+        return texts.containsKey(UNWRAPPED);
+    }
+
+    private long resumeFingerprint() throws IOException {
+        try (FileChannel channel = FileChannel.open(resumePdf(), StandardOpenOption.READ)) {
+            return fingerprint(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
         }
+    }
 
+    String resumeRawText() throws IOException {
         synchronized (resumeLock) {
-            if (resumeTextCache == null) {
-                resumeTextCache = loadResumeTextFromPdf();
+            if (resumeRawText == null) {
+                resumeRawText = loadResumeTextFromPdf();
             }
+            return resumeRawText;
         }
-
-        return resumeTextCache;
     }
 
+    /**
+     * The resume PDF as a file on disk, so downloads can be sent with sendfile and served in ranges
+     * without passing through the heap.
+     */
     public Resource getResumePdfResource() {
-        Resource resource = resourceLoader.getResource("classpath:ResumeATSOptimizedLoud.pdf");
-        if (!resource.exists()) {
-            throw new IllegalStateException("Resume PDF not found on classpath");
+        try {
+            return new FileSystemResource(resumePdf());
+        } catch (IOException e) {
+            throw new IllegalStateException("Resume PDF not found on classpath", e);
         }
-        return resource;
     }
 
-    private String loadResumeTextFromPdf() throws IOException {
-        Resource resource = resourceLoader.getResource("classpath:ResumeATSOptimizedLoud.pdf");
+    private Path resumePdf() throws IOException {
+        Path pdf = resumePdf;
+        if (pdf == null) {
+            synchronized (resumeLock) {
+                if (resumePdf == null) {
+                    resumePdf = extractResumePdf();
+                }
+                pdf = resumePdf;
+            }
+        }
+        return pdf;
+    }
+
+    /**
+     * The classpath copy when it's already a plain file (an exploded build), otherwise a copy
+     * extracted from the jar into a temporary file once and removed on shutdown.
+     */
+    private Path extractResumePdf() throws IOException {
+        Resource resource = resourceLoader.getResource(RESUME_PDF);
         if (!resource.exists()) {
             throw new IOException("Resume PDF not found");
         }
+        if (resource.isFile()) {
+            return resource.getFile().toPath();
+        }
 
-        byte[] pdfBytes;
-        try (InputStream inputStream = resource.getInputStream()) {
-            pdfBytes = inputStream.readAllBytes();
+        Path extracted = Files.createTempFile("resume-", ".pdf");
+        try (InputStream in = resource.getInputStream()) {
+            Files.copy(in, extracted, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(extracted);
+            throw e;
         }
+        extracted.toFile().deleteOnExit();
+        extractedResumePdf = extracted;
+        return extracted;
+    }
 
-        try (PDDocument document = Loader.loadPDF(pdfBytes)) {
+    private String loadResumeTextFromPdf() throws IOException {
+        try (PDDocument document = Loader.loadPDF(resumePdf().toFile())) {
             PDFTextStripper stripper = new PDFTextStripper();
             stripper.setLineSeparator("\n");
             stripper.setSortByPosition(true);
-            String rawText = stripper.getText(document);
-            return formatResumeText(rawText);
+            return stripper.getText(document);
         }
     }
 
-    private String formatResumeText(String rawText) {
+    String formatResumeText(String rawText, int width, boolean cutRules) {
         if (rawText == null || rawText.isBlank()) {
             return "Resume text unavailable. Run 'resume --download' to open the PDF.";
         }
@@ -656,18 +865,18 @@ public class ContentService {
 
         String[] paragraphs = normalized.split("\n\n");
         StringBuilder builder = new StringBuilder();
-        builder.append("╔════════════════════════════════════════════════════════════════════════════════════════════╗\n");
+        builder.append("╔").append("═".repeat(width + 2)).append("╗\n");
         for (String paragraph : paragraphs) {
-            for (String line : wrapParagraph(paragraph)) {
-                builder.append("║ ").append(padLine(line)).append(" ║\n");
+            for (String line : wrapParagraph(paragraph, width, cutRules)) {
+                builder.append("║ ").append(padLine(line, width)).append(" ║\n");
             }
-            builder.append("║ ").append(" ".repeat(90)).append(" ║\n");
+            builder.append("║ ").append(" ".repeat(width)).append(" ║\n");
         }
-        builder.append("╚════════════════════════════════════════════════════════════════════════════════════════════╝");
+        builder.append("╚").append("═".repeat(width + 2)).append("╝");
         return builder.toString().replaceAll("\n{2,}╚", "\n╚");
     }
 
-    private List<String> wrapParagraph(String paragraph) {
+    private List<String> wrapParagraph(String paragraph, int width, boolean cutRules) {
         List<String> lines = new ArrayList<>();
         String[] rawLines = paragraph.split("\n");
         for (String rawLine : rawLines) {
@@ -676,11 +885,16 @@ public class ContentService {
                 lines.add("");
                 continue;
             }
+            if (cutRules && RULE_LINE.matcher(line).matches()) {
+                // Divider lines are cut to fit rather than wrapped onto a second line
+                lines.add(line.substring(0, Math.min(line.length(), width)));
+                continue;
+            }
 
-            while (line.length() > 90) {
-                int breakIndex = line.lastIndexOf(' ', 90);
+            while (line.length() > width) {
+                int breakIndex = line.lastIndexOf(' ', width);
                 if (breakIndex <= 0) {
-                    breakIndex = 90;
+                    breakIndex = width;
                 }
                 lines.add(line.substring(0, breakIndex));
                 line = line.substring(breakIndex).trim();
@@ -690,45 +904,27 @@ public class ContentService {
         return lines;
     }
 
-    private String padLine(String line) {
-        if (line.length() >= 90) {
-            return line.substring(0, 90);
+    private String padLine(String line, int width) {
+        if (line.length() >= width) {
+            return line.substring(0, width);
         }
-        return line + " ".repeat(90 - line.length());
+        return line + " ".repeat(width - line.length());
     }
 
     /**
-     * Search blog posts by term (title, tags, content)
+     * Full-text search over blog titles, tags and bodies, best matches first.
+     * Every word must match, either exactly or as the start of a longer word.
      */
-    public List<BlogMetadata> searchBlogs(String searchTerm) throws IOException {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return getBlogList();
-        }
-        
-        String term = searchTerm.toLowerCase();
-        return getBlogList().stream()
-            .filter(blog -> 
-                blog.getTitle().toLowerCase().contains(term) ||
-                blog.getExcerpt().toLowerCase().contains(term) ||
-                blog.getTags().stream().anyMatch(tag -> tag.toLowerCase().contains(term))
-            )
-            .collect(Collectors.toList());
+    public BlogSearchPage searchBlogs(String searchTerm, int page, int size) {
+        return index().search().search(searchTerm, page, size);
     }
 
     /**
-     * Filter portfolio projects by technology
+     * Filter portfolio projects by technology, company and year, with facet counts for the matches.
+     * Multiple technologies must all be present when matchAll is set, otherwise any one will do.
      */
-    public List<PortfolioMetadata> filterPortfolioByTech(String technology) throws IOException {
-        if (technology == null || technology.trim().isEmpty()) {
-            return getPortfolioList();
-        }
-        
-        String tech = technology.toLowerCase();
-        return getPortfolioList().stream()
-            .filter(project -> 
-                project.getTechnologies().stream()
-                    .anyMatch(t -> t.toLowerCase().contains(tech))
-            )
-            .collect(Collectors.toList());
+    public PortfolioFilterResult filterPortfolio(List<String> techs, List<String> companies, List<String> years,
+                                                 boolean matchAll) {
+        return index().facets().filter(techs, companies, years, matchAll);
     }
 }
@@ -0,0 +1,171 @@
+package com.jtdev.website.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-only view of the content tree (blog/, portfolio/, images) addressed by '/'-separated
+ * paths relative to its root. Reads hand out read-only {@link ByteBuffer} views rather than
+ * fresh byte arrays, so callers decode or hash in place.
+ */
+interface ContentStore extends Closeable {
+
+    /**
+     * A store with nothing in it, for when there's no content directory at all.
+     */
+    ContentStore EMPTY = new ContentStore() {
+        @Override
+        public List<String> directories() {
+            return List.of();
+        }
+
+        @Override
+        public List<String> files(String directory) {
+            return List.of();
+        }
+
+        @Override
+        public ByteBuffer read(String path) {
+            return null;
+        }
+
+        @Override
+        public String describe() {
+            return "no content";
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Names of the top-level directories, e.g. "blog" and "portfolio".
+     */
+    List<String> directories() throws IOException;
+
+    /**
+     * Every regular file under a directory, recursively, as paths relative to the store root.
+     * Empty if the directory doesn't exist.
+     */
+    List<String> files(String directory) throws IOException;
+
+    /**
+     * Contents of a file, or null if there is no regular file at that path.
+     */
+    ByteBuffer read(String path) throws IOException;
+
+    /**
+     * The directory on disk backing this store, or null when there isn't one (inside a jar).
+     */
+    default Path directory() {
+        return null;
+    }
+
+    /**
+     * Where the content is served from, for logging.
+     */
+    String describe();
+
+    /**
+     * Pick a backend: an external directory when one is configured, otherwise classpath:directories,
+     * memory-mapped when it's exploded on disk and read through a zip file system when it's packed
+     * inside the application jar.
+     */
+    static ContentStore open(ResourceLoader resourceLoader, String externalDirectory) throws IOException {
+        if (externalDirectory != null && !externalDirectory.isBlank()) {
+            return new MappedContentStore(Paths.get(externalDirectory));
+        }
+
+        Resource resource = resourceLoader.getResource("classpath:directories");
+        if (!resource.exists()) {
+            return EMPTY;
+        }
+
+        URI uri = resource.getURI();
+        if ("jar".equals(uri.getScheme())) {
+            return JarContentStore.open(uri);
+        }
+        return new MappedContentStore(Paths.get(uri));
+    }
+
+    static InputStream asStream(ByteBuffer buffer) {
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    /**
+     * Shared walk for both backends; the zip file system supports the same {@link Path} API.
+     */
+    static List<String> walk(Path root, String directory) throws IOException {
+        Path dir = root.resolve(directory).normalize();
+        if (!dir.startsWith(root) || !Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile)
+                    .map(p -> root.relativize(p).toString().replace('\\', '/'))
+                    .toList();
+        }
+    }
+
+    static List<String> topLevel(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(root)) {
+            return paths.filter(Files::isDirectory)
+                    .map(p -> p.getFileName().toString().replace("/", ""))
+                    .toList();
+        }
+    }
+
+    /**
+     * Resolve a store path, refusing anything that climbs out of the root.
+     */
+    static Path resolve(Path root, String path) {
+        Path resolved = root.resolve(path).normalize();
+        return resolved.startsWith(root) ? resolved : null;
+    }
+
+    final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
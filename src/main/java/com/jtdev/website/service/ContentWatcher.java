@@ -0,0 +1,129 @@
+package com.jtdev.website.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Watches a content directory tree and reports changed files in batches. Events are collected
+ * until the tree has been quiet for the debounce interval, so an editor's burst of writes,
+ * renames and temp files on save turns into one callback.
+ */
+final class ContentWatcher implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentWatcher.class);
+
+    /**
+     * Reported instead of individual paths when the OS dropped events and only a full re-index is safe.
+     */
+    static final String EVERYTHING = "";
+
+    private final Path root;
+    private final Duration debounce;
+    private final Consumer<Set<String>> listener;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private ContentWatcher(Path root, Duration debounce, Consumer<Set<String>> listener) throws IOException {
+        this.root = root;
+        this.debounce = debounce;
+        this.listener = listener;
+        this.watchService = root.getFileSystem().newWatchService();
+        registerAll(root, new LinkedHashSet<>());
+        this.thread = Thread.ofPlatform().name("content-watcher").daemon().unstarted(this::run);
+    }
+
+    /**
+     * @param listener receives '/'-separated paths relative to root, on the watcher thread
+     */
+    static ContentWatcher start(Path root, Duration debounce, Consumer<Set<String>> listener) throws IOException {
+        ContentWatcher watcher = new ContentWatcher(root, debounce, listener);
+        watcher.thread.start();
+        return watcher;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<String> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+
+                WatchKey next;
+                while ((next = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    collect(next, changed);
+                }
+
+                try {
+                    listener.accept(changed);
+                } catch (RuntimeException e) {
+                    log.warn("Error applying content changes {}: {}", changed, e.getMessage());
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Shutting down
+        }
+    }
+
+    private void collect(WatchKey key, Set<String> changed) {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.add(EVERYTHING);
+                continue;
+            }
+
+            Path child = dir.resolve((Path) event.context());
+            changed.add(relative(child));
+
+            // New directories need their own registration, and may already hold files
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) {
+                try {
+                    registerAll(child, changed);
+                } catch (IOException e) {
+                    changed.add(EVERYTHING);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    private void registerAll(Path start, Set<String> changed) throws IOException {
+        try (Stream<Path> paths = Files.walk(start)) {
+            for (Path path : paths.toList()) {
+                if (Files.isDirectory(path)) {
+                    path.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+                } else if (!path.equals(start)) {
+                    changed.add(relative(path));
+                }
+            }
+        }
+    }
+
+    private String relative(Path path) {
+        return root.relativize(path).toString().replace('\\', '/');
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
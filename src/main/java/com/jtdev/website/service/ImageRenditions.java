@@ -0,0 +1,70 @@
+package com.jtdev.website.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finished ASCII renditions of content images, keyed by source, width and character ramp.
+ * Entries are checked against a fingerprint of the image bytes, so an edited image renders afresh,
+ * and concurrent requests for a rendition that isn't cached yet wait for the one render in flight
+ * rather than each decoding and scaling the image.
+ */
+final class ImageRenditions {
+
+    record Key(String source, int width, String ramp) {
+    }
+
+    private record Flight(Key key, long fingerprint) {
+    }
+
+    private final RenderCache<Key, String> cache;
+    private final ConcurrentHashMap<Flight, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    ImageRenditions(long maxChars) {
+        this.cache = RenderCache.ofText(maxChars);
+    }
+
+    /**
+     * The cached rendition for the key, or the result of render, which runs at most once at a
+     * time per key and fingerprint. Failures aren't cached, so the next request tries again.
+     */
+    String get(Key key, long fingerprint, Callable<String> render) throws Exception {
+        String cached = cache.get(key, fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+
+        Flight flight = new Flight(key, fingerprint);
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(flight, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            String rendered = render.call();
+            cache.put(key, fingerprint, rendered);
+            mine.complete(rendered);
+            return rendered;
+        } catch (Exception | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, mine);
+        }
+    }
+
+    void clear() {
+        cache.clear();
+    }
+
+    RenderCache<Key, String> cache() {
+        return cache;
+    }
+}
@@ -0,0 +1,96 @@
+package com.jtdev.website.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content packed inside the application jar, read through a zip {@link FileSystem} opened on the
+ * jar itself. Entries are inflated once and the bytes kept, so repeat reads are just new views.
+ */
+final class JarContentStore implements ContentStore {
+
+    private final FileSystem fileSystem;
+    private final Path root;
+    private final Map<String, ByteBuffer> inflated = new ConcurrentHashMap<>();
+
+    private JarContentStore(FileSystem fileSystem, Path root) {
+        this.fileSystem = fileSystem;
+        this.root = root;
+    }
+
+    /**
+     * Open the jar behind a classpath URI. Spring Boot fat jars expose classes as
+     * {@code jar:nested:/app.jar/!BOOT-INF/classes/!/directories}; a plain jar gives
+     * {@code jar:file:/app.jar!/directories}.
+     */
+    static JarContentStore open(URI uri) throws IOException {
+        String spec = uri.getRawSchemeSpecificPart();
+        int separator = spec.lastIndexOf("!/");
+        if (separator < 0) {
+            throw new IOException("Unsupported content location: " + uri);
+        }
+        String entry = spec.substring(separator + 2);
+        String archive = spec.substring(0, separator);
+
+        String prefix = "";
+        if (archive.startsWith("nested:")) {
+            archive = archive.substring("nested:".length());
+            int nested = archive.indexOf("/!");
+            if (nested < 0) {
+                throw new IOException("Unsupported content location: " + uri);
+            }
+            prefix = archive.substring(nested + 2);
+            archive = "file:" + archive.substring(0, nested);
+        }
+
+        Path jar = Path.of(URI.create(archive));
+        FileSystem fileSystem = FileSystems.newFileSystem(jar);
+        return new JarContentStore(fileSystem, fileSystem.getPath("/" + prefix, entry).normalize());
+    }
+
+    @Override
+    public List<String> directories() throws IOException {
+        return ContentStore.topLevel(root);
+    }
+
+    @Override
+    public List<String> files(String directory) throws IOException {
+        return ContentStore.walk(root, directory);
+    }
+
+    @Override
+    public ByteBuffer read(String path) throws IOException {
+        Path file = ContentStore.resolve(root, path);
+        if (file == null) {
+            return null;
+        }
+        String key = root.relativize(file).toString();
+        ByteBuffer bytes = inflated.get(key);
+        if (bytes == null) {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            bytes = ByteBuffer.wrap(Files.readAllBytes(file)).asReadOnlyBuffer();
+            inflated.putIfAbsent(key, bytes);
+        }
+        return bytes.duplicate();
+    }
+
+    @Override
+    public String describe() {
+        return fileSystem + "!" + root;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileSystem.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.jtdev.website.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Content served from a directory on disk. Files are memory-mapped on each read, so the bytes
+ * stay in the page cache instead of being copied onto the heap.
+ */
+final class MappedContentStore implements ContentStore {
+
+    private final Path root;
+
+    MappedContentStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public List<String> directories() throws IOException {
+        return ContentStore.topLevel(root);
+    }
+
+    @Override
+    public List<String> files(String directory) throws IOException {
+        return ContentStore.walk(root, directory);
+    }
+
+    @Override
+    public ByteBuffer read(String path) throws IOException {
+        Path file = ContentStore.resolve(root, path);
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public Path directory() {
+        return root;
+    }
+
+    @Override
+    public String describe() {
+        return root.toString();
+    }
+
+    @Override
+    public void close() {
+    }
+}
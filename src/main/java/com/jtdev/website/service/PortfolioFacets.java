@@ -0,0 +1,139 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.model.PortfolioFilterResult;
+import com.jtdev.website.model.PortfolioMetadata;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Facet index over portfolio projects: for each of technology, company and year, every normalized
+ * value maps to a {@link BitSet} of the project ids (positions in the portfolio list) that carry it.
+ * Filters and facet counts are then just unions, intersections and cardinalities of those sets.
+ */
+final class PortfolioFacets {
+
+    static final String TECH = "tech";
+    static final String COMPANY = "company";
+    static final String YEAR = "year";
+
+    static final PortfolioFacets EMPTY = new PortfolioFacets(List.of());
+
+    private final List<PortfolioMetadata> projects;
+    private final Map<String, Facet> facets = new LinkedHashMap<>();
+
+    PortfolioFacets(List<PortfolioMetadata> projects) {
+        this.projects = List.copyOf(projects);
+        facets.put(TECH, new Facet(projects, PortfolioMetadata::getTechnologies));
+        facets.put(COMPANY, new Facet(projects, p -> List.of(p.getCompany())));
+        facets.put(YEAR, new Facet(projects, p -> List.of(p.getYear())));
+    }
+
+    /**
+     * Projects matching every given facet. Several technologies must all be present when
+     * matchAll is set, otherwise any one will do; several companies or years always match any.
+     * A value also selects longer values that start with it as a word, so "java" matches "Java 21".
+     * Counts are for the matching projects, per value, most common first.
+     */
+    PortfolioFilterResult filter(Collection<String> techs, Collection<String> companies, Collection<String> years,
+                                 boolean matchAll) {
+        BitSet matches = new BitSet();
+        matches.set(0, projects.size());
+        narrow(matches, facets.get(TECH), techs, matchAll);
+        narrow(matches, facets.get(COMPANY), companies, false);
+        narrow(matches, facets.get(YEAR), years, false);
+
+        List<PortfolioMetadata> results = new ArrayList<>(matches.cardinality());
+        for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+            results.add(projects.get(id));
+        }
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        facets.forEach((name, facet) -> counts.put(name, facet.counts(matches)));
+        return new PortfolioFilterResult(results, counts);
+    }
+
+    private static void narrow(BitSet matches, Facet facet, Collection<String> values, boolean matchAll) {
+        if (values == null || values.stream().allMatch(v -> normalize(v).isEmpty())) {
+            return;
+        }
+
+        BitSet selected = null;
+        for (String value : values) {
+            String key = normalize(value);
+            if (key.isEmpty()) {
+                continue;
+            }
+            BitSet projects = facet.select(key);
+            if (selected == null) {
+                selected = projects;
+            } else if (matchAll) {
+                selected.and(projects);
+            } else {
+                selected.or(projects);
+            }
+        }
+        matches.and(selected);
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Facet {
+        private final NavigableMap<String, BitSet> values = new TreeMap<>();
+        private final Map<String, String> labels = new HashMap<>();
+
+        Facet(List<PortfolioMetadata> projects, Function<PortfolioMetadata, List<String>> extractor) {
+            for (int id = 0; id < projects.size(); id++) {
+                for (String value : extractor.apply(projects.get(id))) {
+                    String key = normalize(value);
+                    if (!key.isEmpty()) {
+                        values.computeIfAbsent(key, k -> new BitSet()).set(id);
+                        labels.putIfAbsent(key, value.trim());
+                    }
+                }
+            }
+        }
+
+        /**
+         * A new set of the projects with this value, or a value it starts as a whole word.
+         */
+        BitSet select(String key) {
+            BitSet selected = new BitSet();
+            for (Map.Entry<String, BitSet> entry : values.subMap(key, true, key + Character.MAX_VALUE, false).entrySet()) {
+                String value = entry.getKey();
+                if (value.length() == key.length() || !Character.isLetterOrDigit(value.charAt(key.length()))) {
+                    selected.or(entry.getValue());
+                }
+            }
+            return selected;
+        }
+
+        Map<String, Integer> counts(BitSet matches) {
+            List<Map.Entry<String, Integer>> counted = new ArrayList<>();
+            values.forEach((key, projects) -> {
+                BitSet both = (BitSet) projects.clone();
+                both.and(matches);
+                if (!both.isEmpty()) {
+                    counted.add(Map.entry(labels.get(key), both.cardinality()));
+                }
+            });
+            counted.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey(String.CASE_INSENSITIVE_ORDER)));
+
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            counted.forEach(e -> counts.put(e.getKey(), e.getValue()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fetches images that markdown links to by URL. Every fetch is bounded by a connect timeout, an
+ * overall timeout and a size cap, so a slow or huge remote image costs at most a few seconds of a
+ * content worker and never an unbounded read.
+ *
+ * <p>Responses are kept on disk with their ETag and Last-Modified, later fetches revalidate with
+ * a conditional request, and when the host can't be reached the last copy is served instead.
+ * A null result means there's nothing to show and the caller renders a placeholder.
+ */
+final class RemoteImageFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteImageFetcher.class);
+
+    private final boolean enabled;
+    private final Duration timeout;
+    private final long maxBytes;
+    private final Path cacheDirectory;
+    private final HttpClient client;
+
+    RemoteImageFetcher(ContentProperties.RemoteImages config) {
+        this.enabled = config.isEnabled();
+        this.timeout = config.getTimeout();
+        this.maxBytes = config.getMaxBytes();
+        this.cacheDirectory = Path.of(config.getCacheDirectory());
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(config.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * The image at url: freshly fetched, revalidated from the disk cache, or the cached copy when
+     * the host fails. Null when fetching is disabled or there is neither a response nor a copy.
+     */
+    byte[] fetch(String url) {
+        if (!enabled) {
+            return null;
+        }
+
+        Path body = cacheDirectory.resolve(cacheKey(url) + ".img");
+        Path meta = cacheDirectory.resolve(cacheKey(url) + ".properties");
+        Properties validators = readValidators(meta);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET();
+        if (validators != null) {
+            String etag = validators.getProperty("etag");
+            String lastModified = validators.getProperty("last-modified");
+            if (etag != null) {
+                request.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                request.header("If-Modified-Since", lastModified);
+            }
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> pending = client.sendAsync(request.build(), this::handle);
+        try {
+            // The request timeout only covers the headers; this bounds the body too
+            HttpResponse<byte[]> response = pending.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (response.statusCode() == 304 && validators != null) {
+                return cached(body);
+            }
+            if (response.statusCode() == 200 && response.body() != null) {
+                store(url, response, body, meta);
+                return response.body();
+            }
+            log.warn("Remote image {} returned HTTP {}", url, response.statusCode());
+        } catch (TimeoutException e) {
+            pending.cancel(true);
+            log.warn("Remote image {} took longer than {}", url, timeout);
+        } catch (ExecutionException e) {
+            log.warn("Could not fetch remote image {}: {}", url, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return validators != null ? cached(body) : null;
+    }
+
+    private HttpResponse.BodySubscriber<byte[]> handle(HttpResponse.ResponseInfo info) {
+        if (info.statusCode() != 200) {
+            return HttpResponse.BodySubscribers.replacing(null);
+        }
+        return new CappedBody(maxBytes, info.headers().firstValueAsLong("Content-Length").orElse(-1));
+    }
+
+    private void store(String url, HttpResponse<byte[]> response, Path body, Path meta) {
+        Properties validators = new Properties();
+        validators.setProperty("url", url);
+        response.headers().firstValue("ETag").ifPresent(v -> validators.setProperty("etag", v));
+        response.headers().firstValue("Last-Modified").ifPresent(v -> validators.setProperty("last-modified", v));
+        try {
+            Files.createDirectories(cacheDirectory);
+            // Body first, so validators never point at a body that isn't there
+            writeAtomically(body, out -> out.write(response.body()));
+            writeAtomically(meta, out -> validators.store(out, null));
+        } catch (IOException e) {
+            log.warn("Could not cache remote image {}: {}", url, e.getMessage());
+        }
+    }
+
+    private void writeAtomically(Path target, BodyWriter writer) throws IOException {
+        Path temp = Files.createTempFile(cacheDirectory, target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Properties readValidators(Path meta) {
+        if (!Files.isRegularFile(meta)) {
+            return null;
+        }
+        Properties validators = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            validators.load(in);
+            return validators;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] cached(Path body) {
+        try {
+            return Files.readAllBytes(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String cacheKey(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void close() {
+        client.close();
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Collects a response body, giving up as soon as it (or its declared length) passes the cap.
+     */
+    private static final class CappedBody implements HttpResponse.BodySubscriber<byte[]> {
+        private final long maxBytes;
+        private final long declaredLength;
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private Flow.Subscription subscription;
+
+        CappedBody(long maxBytes, long declaredLength) {
+            this.maxBytes = maxBytes;
+            this.declaredLength = declaredLength;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (declaredLength > maxBytes) {
+                tooLarge(declaredLength);
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (result.isDone()) {
+                return;
+            }
+            for (ByteBuffer buffer : buffers) {
+                if (bytes.size() + (long) buffer.remaining() > maxBytes) {
+                    tooLarge(bytes.size() + (long) buffer.remaining());
+                    return;
+                }
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                bytes.writeBytes(chunk);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(bytes.toByteArray());
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return result;
+        }
+
+        private void tooLarge(long size) {
+            subscription.cancel();
+            result.completeExceptionally(new IOException("Image is " + size + " bytes, over the " + maxBytes + " byte limit"));
+        }
+    }
+}
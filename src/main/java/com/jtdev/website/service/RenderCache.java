@@ -0,0 +1,115 @@
+package com.jtdev.website.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded LRU cache for rendered output, weighed by a caller-supplied measure (characters for
+ * text, bytes for payloads). Each entry carries the version of the source it was built from,
+ * such as a fingerprint of the file or the content version tag, so a lookup with a different
+ * version (the source changed) is treated as a miss and the stale entry is replaced.
+ */
+class RenderCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    RenderCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * A cache of rendered text, weighed by its length in characters.
+     */
+    static <K> RenderCache<K, String> ofText(long maxChars) {
+        return new RenderCache<>(maxChars, String::length);
+    }
+
+    /**
+     * Returns the cached value for the key, or null when absent or built from a different version.
+     */
+    synchronized V get(K key, Object version) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || !Objects.equals(entry.version, version)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    synchronized void put(K key, Object version, V value) {
+        long entryWeight = weigher.applyAsLong(value);
+        if (entryWeight > maxWeight) {
+            // Never worth caching; don't flush everything else to make room for it
+            return;
+        }
+
+        Entry<V> previous = entries.put(key, new Entry<>(version, value, entryWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+        puts.increment();
+
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<K, Entry<V>> victim = eldest.next();
+            weight -= victim.getValue().weight;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    synchronized void invalidate(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized long size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return weight;
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long putCount() {
+        return puts.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    // The weight is kept so eviction never has to re-measure a value
+    private record Entry<V>(Object version, V value, long weight) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.jtdev.website.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publishes {@link RenderCache} statistics under the standard Micrometer cache meter names
+ * ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions}, {@code cache.size}),
+ * so they show up at {@code /actuator/metrics} alongside any other caches.
+ */
+class RenderCacheMetrics extends CacheMeterBinder<RenderCache<?, ?>> {
+
+    RenderCacheMetrics(RenderCache<?, ?> cache, String cacheName, Iterable<Tag> tags) {
+        super(cache, cacheName, tags);
+    }
+
+    @Override
+    protected Long size() {
+        RenderCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        RenderCache<?, ?> cache = getCache();
+        return cache == null ? 0 : cache.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        RenderCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        RenderCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        RenderCache<?, ?> cache = getCache();
+        return cache == null ? 0 : cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.weight", this, binder -> {
+                    RenderCache<?, ?> cache = binder.getCache();
+                    return cache == null ? 0 : cache.weight();
+                })
+                .tags(getTagsWithCacheName())
+                .description("Total weight of the entries held (characters of text or bytes of payload)")
+                .register(registry);
+    }
+}
@@ -0,0 +1,312 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.model.BlogMetadata;
+import com.jtdev.website.model.BlogSearchHit;
+import com.jtdev.website.model.BlogSearchPage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index over blog titles, tags and rendered bodies, ranked with BM25.
+ *
+ * <p>The vocabulary is a sorted {@code String[]} so a query term can match every indexed term it
+ * is a prefix of with two binary searches. Each term's postings are parallel {@code int[]} arrays of
+ * ascending doc ids and field-weighted term frequencies; doc ids are positions in the blog list.
+ * All query terms must match (by prefix) for a post to be returned.
+ */
+final class SearchIndex {
+
+    static final SearchIndex EMPTY = new SearchIndex(List.of(), List.of());
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // An exact term outranks a longer word it's only a prefix of
+    private static final double PREFIX_DISCOUNT = 0.8;
+
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int SNIPPET_LEAD = 50;
+    static final int MAX_PAGE_SIZE = 50;
+
+    private final List<BlogMetadata> blogs;
+    private final List<String> bodies;
+    private final String[] terms;
+    private final int[][] postings;
+    private final int[][] frequencies;
+    private final int[] lengths;
+    private final double averageLength;
+
+    /**
+     * @param bodies rendered text of each post, in the same order as blogs
+     */
+    SearchIndex(List<BlogMetadata> blogs, List<String> bodies) {
+        this.blogs = List.copyOf(blogs);
+        this.bodies = List.copyOf(bodies);
+        this.lengths = new int[blogs.size()];
+
+        Map<String, Postings> building = new HashMap<>();
+        long totalLength = 0;
+        for (int doc = 0; doc < blogs.size(); doc++) {
+            BlogMetadata blog = blogs.get(doc);
+            Map<String, Integer> counts = new HashMap<>();
+            int length = count(blog.getTitle(), TITLE_WEIGHT, counts)
+                    + count(String.join(" ", blog.getTags()), TAG_WEIGHT, counts)
+                    + count(bodies.get(doc), BODY_WEIGHT, counts);
+            lengths[doc] = length;
+            totalLength += length;
+
+            // Docs are visited in id order, so every posting list comes out sorted
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                building.computeIfAbsent(entry.getKey(), t -> new Postings()).add(doc, entry.getValue());
+            }
+        }
+        this.averageLength = blogs.isEmpty() ? 0 : (double) totalLength / blogs.size();
+
+        this.terms = building.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        this.postings = new int[terms.length][];
+        this.frequencies = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            Postings p = building.get(terms[i]);
+            postings[i] = Arrays.copyOf(p.docs, p.size);
+            frequencies[i] = Arrays.copyOf(p.frequencies, p.size);
+        }
+    }
+
+    /**
+     * Rank posts against a free-text query. A blank query lists every post in date order.
+     */
+    BlogSearchPage search(String query, int page, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // In long, so a huge page number gives an empty page rather than wrapping negative
+        long from = (long) Math.max(page, 0) * pageSize;
+
+        String[] queryTerms = tokenize(query == null ? "" : query);
+        if (queryTerms.length == 0) {
+            List<BlogSearchHit> hits = new ArrayList<>();
+            for (int doc = start(from, blogs.size()); doc < end(from, pageSize, blogs.size()); doc++) {
+                hits.add(new BlogSearchHit(blogs.get(doc), null, 0));
+            }
+            return new BlogSearchPage(hits, blogs.size());
+        }
+
+        int n = blogs.size();
+        double[] scores = new double[n];
+        int[] matched = new int[n];
+        double[] best = new double[n];
+        int[] touched = new int[n];
+        for (String queryTerm : queryTerms) {
+            // Best contribution per doc across every term this one is a prefix of
+            int touchedCount = 0;
+            int lo = lowerBound(queryTerm);
+            for (int t = lo; t < terms.length && terms[t].startsWith(queryTerm); t++) {
+                double weight = terms[t].length() == queryTerm.length() ? 1.0 : PREFIX_DISCOUNT;
+                double idf = idf(postings[t].length);
+                int[] docs = postings[t];
+                int[] tfs = frequencies[t];
+                for (int i = 0; i < docs.length; i++) {
+                    int doc = docs[i];
+                    double score = weight * idf * bm25(tfs[i], lengths[doc]);
+                    if (best[doc] == 0) {
+                        touched[touchedCount++] = doc;
+                    }
+                    best[doc] = Math.max(best[doc], score);
+                }
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                scores[doc] += best[doc];
+                matched[doc]++;
+                best[doc] = 0;
+            }
+        }
+
+        List<Integer> results = new ArrayList<>();
+        for (int doc = 0; doc < n; doc++) {
+            if (matched[doc] == queryTerms.length) {
+                results.add(doc);
+            }
+        }
+        // Ties keep date order, since doc ids follow the blog list
+        results.sort((a, b) -> Double.compare(scores[b], scores[a]));
+
+        List<BlogSearchHit> hits = new ArrayList<>();
+        for (int i = start(from, results.size()); i < end(from, pageSize, results.size()); i++) {
+            int doc = results.get(i);
+            hits.add(new BlogSearchHit(blogs.get(doc), snippet(bodies.get(doc), queryTerms), scores[doc]));
+        }
+        return new BlogSearchPage(hits, results.size());
+    }
+
+    private static int start(long from, int count) {
+        return (int) Math.min(from, count);
+    }
+
+    private static int end(long from, int pageSize, int count) {
+        return (int) Math.min(from + pageSize, count);
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (blogs.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double bm25(int frequency, int length) {
+        double norm = K1 * (1 - B + B * length / averageLength);
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private int lowerBound(String prefix) {
+        int index = Arrays.binarySearch(terms, prefix);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * A window of the body around the first matching word, with every match wrapped in **.
+     */
+    private static String snippet(String body, String[] queryTerms) {
+        int first = -1;
+        int i = 0;
+        while (i < body.length() && first < 0) {
+            int start = nextTokenStart(body, i);
+            int end = tokenEnd(body, start);
+            if (start < end && matches(body, start, end, queryTerms)) {
+                first = start;
+            }
+            i = end;
+        }
+        if (first < 0) {
+            return null;
+        }
+
+        int from = Math.max(0, first - SNIPPET_LEAD);
+        int to = Math.min(body.length(), from + SNIPPET_LENGTH);
+        // Don't cut words in half at either edge
+        while (from > 0 && from < first && !Character.isWhitespace(body.charAt(from - 1))) {
+            from++;
+        }
+        while (to < body.length() && to > first && !Character.isWhitespace(body.charAt(to))) {
+            to--;
+        }
+
+        StringBuilder snippet = new StringBuilder();
+        if (from > 0) {
+            snippet.append("...");
+        }
+        int pos = from;
+        while (pos < to) {
+            int start = Math.min(nextTokenStart(body, pos), to);
+            appendFolded(snippet, body, pos, start);
+            int end = Math.min(tokenEnd(body, start), to);
+            if (start < end && matches(body, start, end, queryTerms)) {
+                snippet.append("**").append(body, start, end).append("**");
+            } else {
+                snippet.append(body, start, end);
+            }
+            pos = end;
+        }
+        if (to < body.length()) {
+            snippet.append("...");
+        }
+        return snippet.toString().strip();
+    }
+
+    private static void appendFolded(StringBuilder out, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (out.isEmpty() || out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private static boolean matches(String text, int start, int end, String[] queryTerms) {
+        String token = text.substring(start, end).toLowerCase(Locale.ROOT);
+        for (String queryTerm : queryTerms) {
+            if (token.startsWith(queryTerm)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int nextTokenStart(String text, int from) {
+        int i = from;
+        while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int tokenEnd(String text, int start) {
+        int i = start;
+        while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Lowercased runs of letters and digits, deduplicated in order.
+     */
+    static String[] tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            int start = nextTokenStart(text, i);
+            int end = tokenEnd(text, start);
+            if (start < end) {
+                String token = text.substring(start, end).toLowerCase(Locale.ROOT);
+                if (!tokens.contains(token)) {
+                    tokens.add(token);
+                }
+            }
+            i = end;
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static int count(String text, int weight, Map<String, Integer> counts) {
+        if (text == null) {
+            return 0;
+        }
+        int length = 0;
+        int i = 0;
+        while (i < text.length()) {
+            int start = nextTokenStart(text, i);
+            int end = tokenEnd(text, start);
+            if (start < end) {
+                counts.merge(text.substring(start, end).toLowerCase(Locale.ROOT), weight, Integer::sum);
+                length += weight;
+            }
+            i = end;
+        }
+        return length;
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
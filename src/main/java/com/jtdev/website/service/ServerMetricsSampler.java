@@ -0,0 +1,113 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ServerInfoProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.RuntimeMXBean;
+import java.time.Duration;
+
+/**
+ * One sampler for the live server metrics every open terminal watches. A single timer reads the
+ * OS, memory and runtime MXBeans into an immutable {@link Sample} and multicasts it through a sink,
+ * so the sampling cost is the same for one viewer as for a hundred, and nothing is read while
+ * nobody is watching. Slow subscribers miss samples rather than hold the others back.
+ */
+@Component
+public class ServerMetricsSampler {
+
+    private final RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
+    private final OperatingSystemMXBean osMXBean = ManagementFactory.getOperatingSystemMXBean();
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    private final Sinks.Many<Sample> sink = Sinks.many().multicast().directBestEffort();
+    private final Duration interval;
+    private volatile Sample latest;
+    private Disposable ticker;
+
+    public ServerMetricsSampler(ServerInfoProperties properties) {
+        this.interval = properties.getSampleInterval();
+    }
+
+    /**
+     * The changing part of the server info, in the same shape as the matching fields of /api/server/info.
+     * The physical memory and CPU load figures are null on JVMs that don't expose them.
+     */
+    public record Sample(long serverTime, long uptime, Cpu cpu, Memory memory) {
+    }
+
+    public record Cpu(int cores, double loadAverage, Double processCpuLoad, Double systemCpuLoad) {
+    }
+
+    public record Memory(long heapMax, long heapUsed, long heapCommitted, long heapFree, long nonHeapUsed,
+                         Long totalPhysical, Long freePhysical, Long usedPhysical, Long freeSwapSpace) {
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Flux.interval(interval, interval).subscribe(tick -> {
+            if (sink.currentSubscriberCount() > 0) {
+                Sample sample = sample();
+                latest = sample;
+                sink.tryEmitNext(sample);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        ticker.dispose();
+        sink.tryEmitComplete();
+    }
+
+    /**
+     * The latest sample, or a fresh one when it's older than the sampling interval.
+     */
+    public Sample latest() {
+        Sample sample = latest;
+        if (sample == null || System.currentTimeMillis() - sample.serverTime() >= interval.toMillis()) {
+            sample = sample();
+            latest = sample;
+        }
+        return sample;
+    }
+
+    /**
+     * The current sample straight away, then each new one as the timer takes it.
+     */
+    public Flux<Sample> stream() {
+        return Mono.fromSupplier(this::latest).concatWith(sink.asFlux());
+    }
+
+    private Sample sample() {
+        MemoryUsage heap = memoryMXBean.getHeapMemoryUsage();
+        Long totalPhysical = null;
+        Long freePhysical = null;
+        Long freeSwapSpace = null;
+        Double processCpuLoad = null;
+        Double systemCpuLoad = null;
+        if (osMXBean instanceof com.sun.management.OperatingSystemMXBean sunOsMXBean) {
+            totalPhysical = sunOsMXBean.getTotalMemorySize();
+            freePhysical = sunOsMXBean.getFreeMemorySize();
+            freeSwapSpace = sunOsMXBean.getFreeSwapSpaceSize();
+            processCpuLoad = sunOsMXBean.getProcessCpuLoad() * 100;
+            systemCpuLoad = sunOsMXBean.getCpuLoad() * 100;
+        }
+
+        Cpu cpu = new Cpu(osMXBean.getAvailableProcessors(), osMXBean.getSystemLoadAverage(),
+                processCpuLoad, systemCpuLoad);
+        Memory memory = new Memory(heap.getMax(), heap.getUsed(), heap.getCommitted(), heap.getMax() - heap.getUsed(),
+                memoryMXBean.getNonHeapMemoryUsage().getUsed(),
+                totalPhysical, freePhysical, totalPhysical == null ? null : totalPhysical - freePhysical, freeSwapSpace);
+        return new Sample(System.currentTimeMillis(), runtimeMXBean.getUptime(), cpu, memory);
+    }
+}
@@ -0,0 +1,60 @@
+package com.jtdev.website.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution: the first caller starts the
+ * work and everyone who asks for that key before it finishes shares its result. Nothing is
+ * cached beyond that; once the work completes, fails or is cancelled the key is free again, so
+ * an error reaches the callers waiting on it but the next caller tries afresh. The work is
+ * cancelled only when every caller sharing it has cancelled.
+ */
+final class SingleFlight<K> {
+
+    private final ConcurrentHashMap<K, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder joined = new LongAdder();
+
+    <V> Mono<V> execute(K key, Supplier<Mono<V>> work) {
+        return Mono.defer(() -> {
+            boolean[] started = {false};
+            @SuppressWarnings("unchecked")
+            Mono<V> flight = (Mono<V>) inFlight.computeIfAbsent(key, k -> {
+                started[0] = true;
+                return start(k, work);
+            });
+            if (!started[0]) {
+                joined.increment();
+            }
+            return flight;
+        });
+    }
+
+    private <V> Mono<V> start(K key, Supplier<Mono<V>> work) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        // Only remove this flight, never one a later caller started under the same key
+        Mono<V> flight = Mono.defer(work)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .flux()
+                .publish()
+                .refCount(1)
+                .next();
+        self.set(flight);
+        return flight;
+    }
+
+    /**
+     * Callers that shared an execution already in flight instead of starting their own.
+     */
+    long joinedCount() {
+        return joined.sum();
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
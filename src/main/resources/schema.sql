@@ -0,0 +1,14 @@
+-- Applied on startup to the embedded H2 database (spring.sql.init)
+CREATE TABLE IF NOT EXISTS blog_post (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title        VARCHAR(255) NOT NULL,
+    summary      VARCHAR(1000),
+    content      VARCHAR,
+    author       VARCHAR(255),
+    created_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date TIMESTAMP,
+    tags         VARCHAR(500)
+);
+
+-- Keyset pagination order for GET /api/blog/page
+CREATE INDEX IF NOT EXISTS blog_post_created ON blog_post (created_date DESC, id DESC);
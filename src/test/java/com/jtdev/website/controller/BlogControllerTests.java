@@ -0,0 +1,132 @@
+package com.jtdev.website.controller;
+
+import com.jtdev.website.model.BlogPost;
+import com.jtdev.website.model.BlogPostPage;
+import com.jtdev.website.model.BlogPostSummary;
+import com.jtdev.website.repository.BlogPostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BlogControllerTests {
+
+    @Autowired
+    private BlogController blogController;
+
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        blogPostRepository.deleteAll()
+                .thenMany(Flux.just(
+                        post("Oldest", base.minusDays(2)),
+                        post("Tied A", base),
+                        post("Tied B", base),
+                        post("Tied C", base),
+                        post("Newest", base.plusDays(1))))
+                .concatMap(blogPostRepository::save)
+                .blockLast();
+    }
+
+    @Test
+    void pagesNewestFirstAcrossTiedDates() {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            BlogPostPage page = blogController.getPostPage(cursor, 2).block();
+            page.getPosts().stream().map(BlogPostSummary::getTitle).forEach(titles::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(titles).containsExactly("Newest", "Tied C", "Tied B", "Tied A", "Oldest");
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> blogController.getPostPage("not a cursor", 2))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void streamsEverySeededPost() {
+        assertThat(blogController.getAllPosts().map(BlogPost::getTitle).collectList().block())
+                .containsExactlyInAnyOrder("Oldest", "Tied A", "Tied B", "Tied C", "Newest");
+    }
+
+    @Test
+    void createIgnoresClientSuppliedId() {
+        BlogPost existing = blogPostRepository.findAll().blockFirst();
+        BlogPost draft = post("Created", LocalDateTime.of(2000, 1, 1, 0, 0));
+        draft.setId(existing.getId());
+
+        BlogPost created = blogController.createPost(draft).block();
+
+        assertThat(created.getId()).isNotNull().isNotEqualTo(existing.getId());
+        assertThat(created.getCreatedDate()).isAfter(LocalDateTime.of(2000, 1, 1, 0, 0));
+        assertThat(blogPostRepository.findById(existing.getId()).block().getTitle()).isEqualTo(existing.getTitle());
+        assertThat(blogPostRepository.findById(created.getId()).block().getTitle()).isEqualTo("Created");
+        assertThat(blogPostRepository.count().block()).isEqualTo(6);
+    }
+
+    @Test
+    void updateChangesFieldsAndUpdatedDate() {
+        BlogPost existing = blogPostRepository.findAll().filter(p -> p.getTitle().equals("Oldest")).blockFirst();
+        BlogPost changes = post("Renamed", LocalDateTime.now());
+        changes.setSummary("New summary");
+        changes.setContent("New content");
+        changes.setTags("java,spring");
+
+        blogController.updatePost(existing.getId(), changes).block();
+
+        BlogPost stored = blogPostRepository.findById(existing.getId()).block();
+        assertThat(stored.getTitle()).isEqualTo("Renamed");
+        assertThat(stored.getSummary()).isEqualTo("New summary");
+        assertThat(stored.getContent()).isEqualTo("New content");
+        assertThat(stored.getTags()).isEqualTo("java,spring");
+        assertThat(stored.getCreatedDate()).isEqualTo(existing.getCreatedDate());
+        assertThat(stored.getUpdatedDate()).isAfter(existing.getUpdatedDate());
+    }
+
+    @Test
+    void updateOfMissingPostCompletesEmpty() {
+        assertThat(blogController.updatePost(Long.MAX_VALUE, post("Ghost", LocalDateTime.now())).blockOptional())
+                .isEmpty();
+        assertThat(blogPostRepository.count().block()).isEqualTo(5);
+    }
+
+    @Test
+    void deleteRemovesThePost() {
+        BlogPost existing = blogPostRepository.findAll().blockFirst();
+
+        blogController.deletePost(existing.getId()).block();
+
+        assertThat(blogPostRepository.findById(existing.getId()).blockOptional()).isEmpty();
+        assertThat(blogPostRepository.count().block()).isEqualTo(4);
+    }
+
+    private static BlogPost post(String title, LocalDateTime createdDate) {
+        BlogPost post = new BlogPost();
+        post.setTitle(title);
+        post.setSummary(title + " summary");
+        post.setContent("x".repeat(1000));
+        post.setCreatedDate(createdDate);
+        post.setUpdatedDate(createdDate);
+        return post;
+    }
+}
@@ -0,0 +1,127 @@
+package com.jtdev.website.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ContentControllerTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Test
+    void answersRepeatRequestsWithNotModified() {
+        for (String uri : new String[]{
+                "/api/content/file?path=blog/About.md&cols=80",
+                "/api/content/blog/list",
+                "/api/content/portfolio/list",
+                "/api/content/resume?cols=80",
+                "/api/content/resume/download"}) {
+            HttpHeaders first = client.get().uri(uri).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueMatches(HttpHeaders.CACHE_CONTROL, ".*s-maxage=\\d+.*")
+                    .expectBody().returnResult().getResponseHeaders();
+            assertThat(first.getETag()).as(uri).startsWith("\"");
+            assertThat(first.getLastModified()).as(uri).isPositive();
+
+            client.get().uri(uri).ifNoneMatch(first.getETag()).exchange()
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, first.getETag())
+                    .expectBody().isEmpty();
+            client.get().uri(uri).ifNoneMatch("\"something-else\"").exchange()
+                    .expectStatus().isOk();
+        }
+    }
+
+    @Test
+    void doesNotCachePayloadsForMissingFiles() {
+        client.get().uri("/api/content/file?path=blog/About.md").exchange().expectStatus().isOk();
+        double cached = meterRegistry.get("cache.size").tag("cache", "content.payload").gauge().value();
+
+        for (int i = 0; i < 3; i++) {
+            client.get().uri("/api/content/file?path=blog/missing-" + i + ".md").exchange()
+                    .expectStatus().isOk()
+                    .expectBody().jsonPath("$.content").isEqualTo("File not found: blog/missing-" + i + ".md");
+        }
+        assertThat(meterRegistry.get("cache.size").tag("cache", "content.payload").gauge().value()).isEqualTo(cached);
+    }
+
+    @Test
+    void pagesBlogSearchAndRejectsNegativePaging() {
+        client.get().uri("/api/content/blog/search?term=x&page=42949673&size=50").exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("X-Total-Count")
+                .expectBody().json("[]");
+        client.get().uri("/api/content/blog/search?term=x&page=-1").exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/content/blog/search?term=x&size=-5").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void servesStoredGzipToClientsThatAcceptIt() throws IOException {
+        String uri = "/api/content/file?path=blog/About.md&cols=80";
+        var plain = client.get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                .expectBody().returnResult();
+        var gzipped = client.get().uri(uri).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .expectBody().returnResult();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponseBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getResponseBody());
+        }
+        assertThat(gzipped.getResponseBodyContent().length).isLessThan(plain.getResponseBody().length);
+        assertThat(gzipped.getResponseHeaders().getETag()).isNotEqualTo(plain.getResponseHeaders().getETag());
+
+        client.get().uri(uri).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *").exchange()
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING);
+    }
+
+    @Test
+    void resumesResumeDownloadsWithRanges() {
+        String uri = "/api/content/resume/download";
+        HttpHeaders full = client.get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .expectBody().returnResult().getResponseHeaders();
+        long length = full.getContentLength();
+        assertThat(length).isPositive();
+
+        client.get().uri(uri).header(HttpHeaders.RANGE, "bytes=100-").header(HttpHeaders.IF_RANGE, full.getETag()).exchange()
+                .expectStatus().isEqualTo(206)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes 100-" + (length - 1) + "/" + length)
+                .expectHeader().contentLength(length - 100);
+
+        client.get().uri(uri).header(HttpHeaders.RANGE, "bytes=100-").header(HttpHeaders.IF_RANGE, "\"older\"").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentLength(length);
+    }
+}
@@ -0,0 +1,55 @@
+package com.jtdev.website.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "server-info.sample-interval=1h")
+class ServerInfoControllerTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Test
+    void mergesStaticAndSampledFieldsIntoOneDocument() {
+        client.get().uri("/api/server/info").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.hostname").isNotEmpty()
+                .jsonPath("$.os.name").isEqualTo(System.getProperty("os.name"))
+                .jsonPath("$.os.systemLoadAverage").exists()
+                .jsonPath("$.cpu.cores").isEqualTo(Runtime.getRuntime().availableProcessors())
+                .jsonPath("$.memory.heapUsed").isNumber()
+                .jsonPath("$.runtime.javaVersion").isEqualTo(System.getProperty("java.version"))
+                .jsonPath("$.runtime.uptime").isNumber();
+
+        client.get().uri("/api/server/boot-info").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.osArch").isEqualTo(System.getProperty("os.arch"))
+                .jsonPath("$.totalMemoryMB").isNumber()
+                .jsonPath("$.uptime").isNumber();
+    }
+
+    @Test
+    void servesTheSameBodyWithinASamplingInterval() {
+        byte[] first = client.get().uri("/api/server/info").exchange().expectBody().returnResult().getResponseBody();
+        byte[] second = client.get().uri("/api/server/info").exchange().expectBody().returnResult().getResponseBody();
+
+        assertThat(second).isEqualTo(first);
+    }
+}
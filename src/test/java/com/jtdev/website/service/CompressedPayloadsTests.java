@@ -0,0 +1,59 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedPayloadsTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @Test
+    void rebuildsOnlyWhenTheVersionChanges() throws Exception {
+        CompressedPayloads payloads = payloads(1024 * 1024);
+
+        CompressedPayloads.Payload first = payloads.get("About.md", "v1", () -> body(1000));
+        assertThat(payloads.get("About.md", "v1", () -> body(1000))).isSameAs(first);
+        assertThat(first.gzip()).isNotNull().hasSizeLessThan(first.identity().length);
+        assertThat(builds).hasValue(1);
+
+        assertThat(payloads.get("About.md", "v2", () -> body(1000))).isNotSameAs(first);
+        assertThat(builds).hasValue(2);
+        assertThat(payloads.cache().size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPayloadsPastTheByteBound() throws Exception {
+        // Bodies under the compression threshold, so each weighs exactly its JSON
+        CompressedPayloads payloads = payloads(250);
+        payloads.get("a", "v1", () -> body(100));
+        payloads.get("b", "v1", () -> body(100));
+        payloads.get("a", "v1", () -> body(100));
+        payloads.get("c", "v1", () -> body(100));
+
+        assertThat(payloads.cache().weight()).isLessThanOrEqualTo(250);
+        payloads.get("a", "v1", () -> body(100));
+        assertThat(builds).hasValue(3);
+        payloads.get("b", "v1", () -> body(100));
+        assertThat(builds).hasValue(4);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "content.payload").functionCounter().count())
+                .isEqualTo(2);
+    }
+
+    private CompressedPayloads payloads(long maxBytes) {
+        ContentProperties properties = new ContentProperties();
+        properties.getRenderCache().setMaxPayloadBytes(maxBytes);
+        return new CompressedPayloads(JsonMapper.builder().build(), properties, meterRegistry);
+    }
+
+    private String body(int length) {
+        builds.incrementAndGet();
+        return "x".repeat(length - 2);
+    }
+}
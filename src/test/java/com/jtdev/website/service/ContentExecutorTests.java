@@ -0,0 +1,111 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ContentExecutorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ContentExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    void shedsCallsBeyondOneWorkerAndOneQueueSlot() throws InterruptedException {
+        executor = executor(Duration.ofSeconds(5), ContentProperties.Executor.Mode.OFFLOAD);
+        CountDownLatch running = new CountDownLatch(1);
+        Mono<String> first = executor.call(() -> {
+            running.countDown();
+            release.await();
+            return "first";
+        }).cache();
+        Mono<String> queued = executor.call(() -> "queued").cache();
+        first.subscribe();
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        queued.subscribe();
+
+        StepVerifier.create(executor.call(() -> "shed"))
+                .expectErrorSatisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE))
+                .verify(Duration.ofSeconds(5));
+        assertThat(meterRegistry.get("content.calls.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(first.block(Duration.ofSeconds(5))).isEqualTo("first");
+        assertThat(queued.block(Duration.ofSeconds(5))).isEqualTo("queued");
+        await().atMost(Duration.ofSeconds(5)).until(() -> executor.availableSlots() == 2);
+        assertThat(executor.call(() -> "after").block(Duration.ofSeconds(5))).isEqualTo("after");
+    }
+
+    @Test
+    void timesOutSlowCallsAndReleasesTheWorker() {
+        executor = executor(Duration.ofMillis(50), ContentProperties.Executor.Mode.OFFLOAD);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        StepVerifier.create(executor.call(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                    return "slow";
+                }))
+                .expectErrorSatisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.GATEWAY_TIMEOUT))
+                .verify(Duration.ofSeconds(5));
+        assertThat(meterRegistry.get("content.calls.timeout").counter().count()).isEqualTo(1);
+
+        // The only worker is free again, so the next call runs well inside the 50 ms timeout
+        await().atMost(Duration.ofSeconds(5)).until(() -> executor.availableSlots() == 2);
+        assertThat(interrupted).isTrue();
+        assertThat(executor.call(() -> "next").block(Duration.ofSeconds(5))).isEqualTo("next");
+    }
+
+    @Test
+    void inlineModeRunsOnTheCallingEventLoop() {
+        executor = executor(Duration.ofSeconds(5), ContentProperties.Executor.Mode.INLINE);
+
+        assertThat(executor.call(() -> "inline").subscribeOn(Schedulers.parallel()).block()).isEqualTo("inline");
+
+        assertThat(meterRegistry.get("content.calls").tag("event.loop", "true").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("content.calls").tag("event.loop", "false").timer()).isNull();
+    }
+
+    @Test
+    void offloadModeMovesWorkOffTheEventLoop() {
+        executor = executor(Duration.ofSeconds(5), ContentProperties.Executor.Mode.OFFLOAD);
+
+        assertThat(executor.call(() -> "offloaded").subscribeOn(Schedulers.parallel()).block()).isEqualTo("offloaded");
+
+        assertThat(meterRegistry.get("content.calls").tag("event.loop", "false").timer().count()).isEqualTo(1);
+    }
+
+    private ContentExecutor executor(Duration timeout, ContentProperties.Executor.Mode mode) {
+        ContentProperties properties = new ContentProperties();
+        properties.getExecutor().setThreads(1);
+        properties.getExecutor().setQueueCapacity(1);
+        properties.getExecutor().setTimeout(timeout);
+        properties.getExecutor().setMode(mode);
+        return new ContentExecutor(properties, meterRegistry);
+    }
+}
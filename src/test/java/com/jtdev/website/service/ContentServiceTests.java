@@ -0,0 +1,206 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import com.jtdev.website.model.PortfolioFilterResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ContentServiceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ContentService contentService =
+            new ContentService(new DefaultResourceLoader(), new ContentProperties(), meterRegistry);
+
+    /**
+     * Rendered output is pinned to the golden copies under src/test/resources/golden,
+     * so any change to the terminal formatting shows up as a reviewable diff.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "blog/About.md",
+            "portfolio/DTE-Rates-for-Home-Assistant.md",
+            "portfolio/Future-Auth_hooker.md",
+            "portfolio/Future-Open_Source_Telemetry_Aggregator.md",
+            "portfolio/RouteListToTesla.md",
+            "portfolio/Tesla Automatic Preconditioning.md",
+            "portfolio/Website.md",
+            "portfolio/dockerized-imap-sync.md"
+    })
+    void rendersMarkdownToGoldenOutput(String path) throws IOException {
+        String expected = new ClassPathResource("golden/" + path + ".txt").getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(contentService.getMarkdownContent(path)).isEqualTo(expected);
+    }
+
+    @Test
+    void indexedDocumentsAreServedWithoutRerendering() throws IOException {
+        String first = contentService.getMarkdownContent("portfolio/Website.md");
+        String second = contentService.getMarkdownContent("portfolio/Website.md");
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "content.render").tag("result", "miss")
+                .functionCounter().count()).isZero();
+    }
+
+    @Test
+    void recordsEachRenderingStageByDirectory() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContentService rendering = new ContentService(new DefaultResourceLoader(), unbundled(), registry);
+        rendering.getMarkdownContent("blog/About.md", 80);
+        rendering.getMarkdownContent("portfolio/Website.md", 80);
+
+        for (String stage : new String[]{"read", "parse", "layout", "image"}) {
+            assertThat(registry.get("content.stage").tag("stage", stage).tag("directory", "blog").timer().count())
+                    .as(stage).isPositive();
+        }
+        assertThat(registry.get("content.document.images").tag("directory", "blog").summary().max()).isEqualTo(1);
+        assertThat(registry.get("content.document.bytes").tag("directory", "portfolio").summary().count()).isPositive();
+    }
+
+    @Test
+    void servesPrerenderedBundleInsteadOfRendering(@TempDir Path directory) throws IOException {
+        ContentService rendering = new ContentService(new DefaultResourceLoader(), unbundled(), new SimpleMeterRegistry());
+        Path bundle = directory.resolve("content.bundle");
+        long markdownFiles;
+        try (Stream<Path> files = Files.walk(new ClassPathResource("directories").getFile().toPath())) {
+            markdownFiles = files.filter(file -> file.toString().endsWith(".md")).count();
+        }
+        // Every markdown file plus the resume
+        assertThat(rendering.writeBundle(bundle)).isEqualTo(markdownFiles + 1);
+
+        ContentProperties properties = new ContentProperties();
+        properties.getBundle().setLocation(bundle.toUri().toString());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContentService bundled = new ContentService(new DefaultResourceLoader(), properties, registry);
+        bundled.warmResume();
+
+        for (Integer cols : Arrays.asList(null, 40, 160)) {
+            assertThat(bundled.getMarkdownContent("blog/About.md", cols)).isEqualTo(rendering.getMarkdownContent("blog/About.md", cols));
+            assertThat(bundled.getResumeText(cols)).isEqualTo(rendering.getResumeText(cols));
+        }
+        assertThat(bundled.getBlogList()).usingRecursiveComparison().isEqualTo(rendering.getBlogList());
+        assertThat(bundled.getPortfolioList()).usingRecursiveComparison().isEqualTo(rendering.getPortfolioList());
+        assertThat(bundled.searchBlogs("joshua", 0, 10).getTotal()).isEqualTo(rendering.searchBlogs("joshua", 0, 10).getTotal());
+        assertThat(registry.find("content.stage").tag("stage", "parse").timers())
+                .allSatisfy(timer -> assertThat(timer.count()).isZero());
+    }
+
+    @Test
+    void listingsAreServedFromTheIndex() throws IOException {
+        assertThat(contentService.getDirectoryContents("portfolio")).contains("Website.md");
+        assertThat(contentService.getPortfolioList()).extracting("filename").contains("Website.md");
+        assertThat(contentService.getBlogList()).extracting("filename").contains("About.md");
+    }
+
+    @Test
+    void filtersPortfolioByFacets() {
+        PortfolioFilterResult java = contentService.filterPortfolio(List.of("java"), null, null, true);
+        assertThat(java.getProjects()).extracting("filename")
+                .contains("RouteListToTesla.md", "Future-Auth_hooker.md")
+                .doesNotContain("dockerized-imap-sync.md");
+
+        PortfolioFilterResult javaAndDocker = contentService.filterPortfolio(List.of("java", "docker"), null, null, true);
+        assertThat(javaAndDocker.getProjects()).extracting("filename")
+                .containsExactlyInAnyOrder("Tesla Automatic Preconditioning.md", "Website.md");
+        assertThat(javaAndDocker.getFacets().get("tech")).containsEntry("Docker", 2).containsEntry("Maven", 2);
+
+        PortfolioFilterResult javaOrDocker = contentService.filterPortfolio(List.of("java", "docker"), null, List.of("2026"), false);
+        assertThat(javaOrDocker.getProjects()).extracting("filename").containsExactly("dockerized-imap-sync.md");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {40, 80, 120, 160})
+    void laysContentOutToTheRequestedWidth(int cols, @TempDir Path directory) throws IOException {
+        Files.createDirectories(directory.resolve("blog"));
+        Files.writeString(directory.resolve("blog/Wide.md"), """
+                # A heading long enough that a narrow terminal has to wrap it inside its box
+
+                | Component | What it does | Notes |
+                |-----------|--------------|-------|
+                | ContentService | Renders markdown documents to the terminal's ASCII form | Cached per width bucket |
+                | ContentExecutor | Runs blocking content work on a bounded pool of workers | Sheds load with 503 |
+
+                %s
+                """.formatted("A paragraph of ordinary words that keeps going. ".repeat(12)));
+        ContentProperties properties = new ContentProperties();
+        properties.setDirectory(directory.toString());
+        ContentService wide = new ContentService(new DefaultResourceLoader(), properties, new SimpleMeterRegistry());
+
+        // About.md adds an image to the header box and paragraphs
+        for (String content : List.of(wide.getMarkdownContent("blog/Wide.md", cols),
+                contentService.getMarkdownContent("blog/About.md", cols),
+                contentService.getResumeText(cols))) {
+            assertThat(content.lines()).allSatisfy(line -> assertThat(line).hasSizeLessThanOrEqualTo(cols));
+        }
+        assertThat(contentService.getMarkdownContent("blog/About.md", cols + 7))
+                .isSameAs(contentService.getMarkdownContent("blog/About.md", cols));
+    }
+
+    @Test
+    void resumeIsPreparedBeforeTheFirstRequest() throws IOException {
+        contentService.warmResume();
+
+        String narrow = contentService.getResumeText(40);
+        assertThat(contentService.getResumeText(59)).isSameAs(narrow);
+        assertThat(contentService.getResumePdfResource().contentLength())
+                .isEqualTo(new ClassPathResource("ResumeATSOptimizedLoud.pdf").contentLength());
+    }
+
+    @Test
+    void roundsColumnsDownToAWidthBucket() {
+        assertThat(ContentService.widthBucket(null)).isEqualTo(ContentService.UNWRAPPED);
+        assertThat(ContentService.widthBucket(20)).isEqualTo(40);
+        assertThat(ContentService.widthBucket(100)).isEqualTo(80);
+        assertThat(ContentService.widthBucket(500)).isEqualTo(160);
+    }
+
+    @Test
+    void watchedDirectoryIsReindexedOnChange(@TempDir Path directory) throws IOException {
+        Files.createDirectories(directory.resolve("blog"));
+        Files.writeString(directory.resolve("blog/First.md"), "# First");
+
+        ContentProperties properties = new ContentProperties();
+        properties.setDirectory(directory.toString());
+        properties.getWatch().setEnabled(true);
+        properties.getWatch().setDebounce(Duration.ofMillis(50));
+        ContentService watched = new ContentService(new DefaultResourceLoader(), properties, new SimpleMeterRegistry());
+        watched.start();
+        try {
+            assertThat(watched.getDirectoryContents("blog")).containsExactly("First.md");
+
+            Files.writeString(directory.resolve("blog/Second.md"), "Second post");
+            Files.writeString(directory.resolve("blog/First.md"), "Edited");
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+                assertThat(watched.getDirectoryContents("blog")).containsExactlyInAnyOrder("First.md", "Second.md");
+                assertThat(watched.getMarkdownContent("blog/First.md")).isEqualTo("Edited");
+                assertThat(watched.getBlogList()).hasSize(2);
+            });
+        } finally {
+            watched.close();
+        }
+    }
+
+    private static ContentProperties unbundled() {
+        ContentProperties properties = new ContentProperties();
+        properties.getBundle().setEnabled(false);
+        return properties;
+    }
+}
@@ -0,0 +1,124 @@
+package com.jtdev.website.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The same small tree served from a directory, a plain jar and a Spring Boot fat jar, since the
+ * jar stores are what production runs on.
+ */
+class ContentStoreTests {
+
+    private static final Map<String, String> FILES = Map.of(
+            "blog/About.md", "# About",
+            "blog/images/photo.png", "not really a png",
+            "portfolio/Website.md", "# Website");
+
+    @TempDir
+    private Path temp;
+
+    @Test
+    void directoryStore() throws IOException {
+        Path root = temp.resolve("directories");
+        for (Map.Entry<String, String> file : FILES.entrySet()) {
+            Path path = root.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file.getValue());
+        }
+        Files.writeString(temp.resolve("secret.txt"), "outside the root");
+
+        try (ContentStore store = new MappedContentStore(root)) {
+            assertServesTheTree(store);
+        }
+    }
+
+    @Test
+    void plainJarStore() throws IOException {
+        Path jar = jar("app.jar", "directories/");
+        try (ContentStore store = JarContentStore.open(URI.create("jar:" + jar.toUri() + "!/directories"))) {
+            assertServesTheTree(store);
+        }
+    }
+
+    @Test
+    void nestedFatJarStore() throws IOException {
+        Path jar = jar("app.jar", "BOOT-INF/classes/directories/");
+        URI uri = URI.create("jar:nested:" + jar.toUri().getRawPath() + "/!BOOT-INF/classes/!/directories");
+        try (ContentStore store = JarContentStore.open(uri)) {
+            assertServesTheTree(store);
+        }
+    }
+
+    @Test
+    void refusesUnsupportedJarLocations() throws IOException {
+        Path jar = jar("app.jar", "directories/");
+
+        assertThatThrownBy(() -> JarContentStore.open(URI.create("jar:" + jar.toUri() + "/directories")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> JarContentStore.open(URI.create("jar:nested:" + jar.toUri().getRawPath() + "!/directories")))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void emptyStoreHasNothing() throws IOException {
+        assertThat(ContentStore.EMPTY.directories()).isEmpty();
+        assertThat(ContentStore.EMPTY.files("blog")).isEmpty();
+        assertThat(ContentStore.EMPTY.read("blog/About.md")).isNull();
+    }
+
+    private static void assertServesTheTree(ContentStore store) throws IOException {
+        assertThat(store.directories()).containsExactlyInAnyOrder("blog", "portfolio");
+        assertThat(store.files("blog")).containsExactlyInAnyOrder("blog/About.md", "blog/images/photo.png");
+        assertThat(store.files("missing")).isEmpty();
+        assertThat(text(store.read("blog/About.md"))).isEqualTo("# About");
+        assertThat(text(store.read("blog/images/../About.md"))).isEqualTo("# About");
+        assertThat(text(store.read("blog/images/photo.png"))).isEqualTo("not really a png");
+        assertThat(store.read("blog/Missing.md")).isNull();
+        assertThat(store.read("blog")).isNull();
+
+        // Nothing outside the root, whether climbed to or named absolutely
+        for (String escape : List.of("../secret.txt", "blog/../../secret.txt", "../app.jar", "/secret.txt", "/etc/passwd")) {
+            assertThat(store.read(escape)).as(escape).isNull();
+        }
+        assertThat(store.files("..")).isEmpty();
+        assertThat(store.files("blog/../..")).isEmpty();
+    }
+
+    /**
+     * A jar holding the tree under prefix, plus a file next to it that must stay unreachable.
+     */
+    private Path jar(String name, String prefix) throws IOException {
+        Path jar = temp.resolve(name);
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream entries = new JarOutputStream(out)) {
+            for (Map.Entry<String, String> file : FILES.entrySet()) {
+                entries.putNextEntry(new JarEntry(prefix + file.getKey()));
+                entries.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                entries.closeEntry();
+            }
+            entries.putNextEntry(new JarEntry(prefix.replace("directories/", "") + "secret.txt"));
+            entries.write("outside the root".getBytes(StandardCharsets.UTF_8));
+            entries.closeEntry();
+        }
+        return jar;
+    }
+
+    private static String text(ByteBuffer bytes) {
+        return bytes == null ? null : StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.jtdev.website.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageRenditionsTests {
+
+    private final ImageRenditions renditions = new ImageRenditions(1024 * 1024);
+    private final ImageRenditions.Key key = new ImageRenditions.Key("blog/Joshua.png", 80, "@%#*+=-:. ");
+
+    @Test
+    void rendersEachKeyOnceUnderConcurrentRequests() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService requests = Executors.newFixedThreadPool(8)) {
+            List<Future<String>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> requests.submit(() -> renditions.get(key, 1, () -> {
+                        renders.incrementAndGet();
+                        release.await(5, TimeUnit.SECONDS);
+                        return "ascii";
+                    })))
+                    .toList();
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("ascii");
+            }
+        }
+        assertThat(renders).hasValue(1);
+        assertThat(renditions.get(key, 1, () -> "rendered again")).isEqualTo("ascii");
+    }
+
+    @Test
+    void rendersAgainWhenTheImageChanges() throws Exception {
+        renditions.get(key, 1, () -> "before");
+
+        assertThat(renditions.get(key, 2, () -> "after")).isEqualTo("after");
+        assertThat(renditions.get(new ImageRenditions.Key("blog/Joshua.png", 40, "@%#*+=-:. "), 2, () -> "narrow"))
+                .isEqualTo("narrow");
+    }
+
+    @Test
+    void doesNotCacheFailures() throws Exception {
+        assertThatThrownBy(() -> renditions.get(key, 1, () -> {
+            throw new IllegalStateException("unreadable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(renditions.get(key, 1, () -> "ascii")).isEqualTo("ascii");
+    }
+}
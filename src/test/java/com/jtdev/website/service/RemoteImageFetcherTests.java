@@ -0,0 +1,145 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ContentProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the fetcher against a stub HTTP server on a loopback port.
+ */
+class RemoteImageFetcherTests {
+
+    private static final byte[] IMAGE = "not really a png".getBytes();
+
+    @TempDir
+    Path cacheDirectory;
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger fullResponses = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/image.png", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.incrementAndGet();
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            respond(exchange, 200, IMAGE);
+        });
+        server.createContext("/broken.png", exchange -> respond(exchange, 500, new byte[0]));
+        server.createContext("/slow.png", exchange -> {
+            try {
+                Thread.sleep(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, IMAGE);
+        });
+        server.createContext("/huge.png", exchange -> respond(exchange, 200, new byte[64 * 1024]));
+        server.createContext("/huge-chunked.png", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int i = 0; i < 64; i++) {
+                    body.write(new byte[1024]);
+                }
+            } catch (IOException e) {
+                // The client hung up once it passed the limit
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void revalidatesCachedImagesWithTheirEtag() {
+        RemoteImageFetcher fetcher = fetcher(Duration.ofSeconds(2));
+
+        assertThat(fetcher.fetch(baseUrl + "/image.png")).isEqualTo(IMAGE);
+        assertThat(fetcher.fetch(baseUrl + "/image.png")).isEqualTo(IMAGE);
+        // A fresh fetcher finds the copy on disk
+        assertThat(fetcher(Duration.ofSeconds(2)).fetch(baseUrl + "/image.png")).isEqualTo(IMAGE);
+
+        assertThat(fullResponses).hasValue(1);
+        assertThat(notModified).hasValue(2);
+    }
+
+    @Test
+    void servesTheCachedCopyWhenTheHostFails() {
+        RemoteImageFetcher fetcher = fetcher(Duration.ofSeconds(2));
+        fetcher.fetch(baseUrl + "/image.png");
+        server.removeContext("/image.png");
+        server.createContext("/image.png", exchange -> respond(exchange, 503, new byte[0]));
+
+        assertThat(fetcher.fetch(baseUrl + "/image.png")).isEqualTo(IMAGE);
+        assertThat(fetcher.fetch(baseUrl + "/broken.png")).isNull();
+    }
+
+    @Test
+    void givesUpOnSlowHosts() {
+        RemoteImageFetcher fetcher = fetcher(Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        assertThat(fetcher.fetch(baseUrl + "/slow.png")).isNull();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void refusesImagesOverTheSizeLimit() {
+        RemoteImageFetcher fetcher = fetcher(Duration.ofSeconds(2));
+
+        assertThat(fetcher.fetch(baseUrl + "/huge.png")).isNull();
+        assertThat(fetcher.fetch(baseUrl + "/huge-chunked.png")).isNull();
+    }
+
+    @Test
+    void fetchesNothingWhenDisabled() {
+        ContentProperties.RemoteImages config = new ContentProperties.RemoteImages();
+        config.setEnabled(false);
+
+        assertThat(new RemoteImageFetcher(config).fetch(baseUrl + "/image.png")).isNull();
+        assertThat(fullResponses).hasValue(0);
+    }
+
+    private RemoteImageFetcher fetcher(Duration timeout) {
+        ContentProperties.RemoteImages config = new ContentProperties.RemoteImages();
+        config.setTimeout(timeout);
+        config.setMaxBytes(16 * 1024);
+        config.setCacheDirectory(cacheDirectory.toString());
+        return new RemoteImageFetcher(config);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
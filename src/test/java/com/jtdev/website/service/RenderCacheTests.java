@@ -0,0 +1,91 @@
+package com.jtdev.website.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderCacheTests {
+
+    private final RenderCache<String, String> cache = RenderCache.ofText(10);
+
+    @Test
+    void weighsEntriesByLength() {
+        cache.put("a", 1, "abc");
+        cache.put("b", 1, "defg");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.weight()).isEqualTo(7);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedFirst() {
+        cache.put("a", 1, "aaaa");
+        cache.put("b", 1, "bbbb");
+        cache.get("a", 1);
+        cache.put("c", 1, "cccc");
+
+        assertThat(cache.get("b", 1)).isNull();
+        assertThat(cache.get("a", 1)).isEqualTo("aaaa");
+        assertThat(cache.get("c", 1)).isEqualTo("cccc");
+        assertThat(cache.weight()).isEqualTo(8);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void putReplacesTheEntryAndItsWeight() {
+        cache.put("a", 1, "aaaaaa");
+        cache.put("a", 2, "aa");
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.weight()).isEqualTo(2);
+        assertThat(cache.get("a", 2)).isEqualTo("aa");
+    }
+
+    @Test
+    void differentFingerprintIsAMiss() {
+        cache.put("a", 1, "aaa");
+
+        assertThat(cache.get("a", 2)).isNull();
+        assertThat(cache.get("a", 1)).isEqualTo("aaa");
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void oversizedValuesAreNotCachedAndEvictNothing() {
+        cache.put("a", 1, "aaaa");
+        cache.put("huge", 1, "x".repeat(11));
+
+        assertThat(cache.get("huge", 1)).isNull();
+        assertThat(cache.get("a", 1)).isEqualTo("aaaa");
+        assertThat(cache.weight()).isEqualTo(4);
+    }
+
+    @Test
+    void invalidateAndClearReleaseWeight() {
+        cache.put("a", 1, "aaa");
+        cache.put("b", 1, "bbb");
+        cache.invalidate("a");
+        assertThat(cache.weight()).isEqualTo(3);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    void weighsWithTheGivenWeigherAndReplacesStaleVersions() {
+        RenderCache<String, byte[]> payloads = new RenderCache<>(100, bytes -> bytes.length);
+        payloads.put("file", "v1", new byte[60]);
+        payloads.put("resume", "v1", new byte[30]);
+
+        assertThat(payloads.get("file", "v2")).isNull();
+        payloads.put("file", "v2", new byte[40]);
+        assertThat(payloads.get("file", "v2")).hasSize(40);
+        assertThat(payloads.weight()).isEqualTo(70);
+
+        payloads.put("other", "v2", new byte[50]);
+        assertThat(payloads.get("resume", "v1")).isNull();
+        assertThat(payloads.weight()).isEqualTo(90);
+    }
+}
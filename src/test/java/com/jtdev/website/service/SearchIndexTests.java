@@ -0,0 +1,71 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.model.BlogMetadata;
+import com.jtdev.website.model.BlogSearchHit;
+import com.jtdev.website.model.BlogSearchPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTests {
+
+    private final SearchIndex index = new SearchIndex(
+            List.of(
+                    blog("Tesla.md", "Preconditioning a Tesla", "automotive"),
+                    blog("Home.md", "Home Assistant rates", "python"),
+                    blog("Notes.md", "Misc notes", "misc")),
+            List.of(
+                    "Scheduling cabin preconditioning from a route list.",
+                    "A Home Assistant integration that parses DTE rate PDFs with Python.",
+                    "Some notes that mention Tesla once, in passing, near the end of a long body of text."));
+
+    @Test
+    void ranksTitleMatchesAboveBodyMatches() {
+        BlogSearchPage results = index.search("tesla", 0, 10);
+
+        assertThat(results.getTotal()).isEqualTo(2);
+        assertThat(results.getHits()).extracting(BlogSearchHit::getFilename).containsExactly("Tesla.md", "Notes.md");
+    }
+
+    @Test
+    void matchesPrefixesAndRequiresEveryTerm() {
+        assertThat(index.search("precond", 0, 10).getHits()).extracting(BlogSearchHit::getFilename)
+                .containsExactly("Tesla.md");
+        assertThat(index.search("assist pyth", 0, 10).getHits()).extracting(BlogSearchHit::getFilename)
+                .containsExactly("Home.md");
+        assertThat(index.search("tesla python", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void highlightsMatchesInSnippet() {
+        BlogSearchHit hit = index.search("dte", 0, 10).getHits().get(0);
+
+        assertThat(hit.getSnippet()).isEqualTo("A Home Assistant integration that parses **DTE** rate PDFs with Python.");
+    }
+
+    @Test
+    void pagesThroughResults() {
+        BlogSearchPage second = index.search("", 1, 2);
+
+        assertThat(second.getTotal()).isEqualTo(3);
+        assertThat(second.getHits()).extracting(BlogSearchHit::getFilename).containsExactly("Notes.md");
+    }
+
+    @Test
+    void pagesPastTheEndAreEmpty() {
+        for (String query : new String[]{"", "tesla"}) {
+            BlogSearchPage beyond = index.search(query, 42949673, SearchIndex.MAX_PAGE_SIZE);
+
+            assertThat(beyond.getHits()).isEmpty();
+            assertThat(beyond.getTotal()).isEqualTo(index.search(query, 0, 10).getTotal());
+        }
+        assertThat(index.search("", Integer.MAX_VALUE, Integer.MAX_VALUE).getHits()).isEmpty();
+    }
+
+    private static BlogMetadata blog(String filename, String title, String tag) {
+        return new BlogMetadata(filename, title, LocalDate.of(2025, 1, 1), List.of(tag), "");
+    }
+}
@@ -0,0 +1,55 @@
+package com.jtdev.website.service;
+
+import com.jtdev.website.config.ServerInfoProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerMetricsSamplerTests {
+
+    private ServerMetricsSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        ServerInfoProperties properties = new ServerInfoProperties();
+        properties.setSampleInterval(Duration.ofMillis(50));
+        sampler = new ServerMetricsSampler(properties);
+        sampler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sampler.close();
+    }
+
+    @Test
+    void sharesEachSampleWithEverySubscriber() {
+        Flux<ServerMetricsSampler.Sample> first = sampler.stream().skip(1).take(3).cache();
+        Flux<ServerMetricsSampler.Sample> second = sampler.stream().skip(1).take(3).cache();
+        first.subscribe();
+        second.subscribe();
+
+        StepVerifier.create(first.collectList()).assertNext(samples -> {
+            assertThat(samples).hasSize(3);
+            assertThat(samples.get(0).cpu().cores()).isPositive();
+            assertThat(samples.get(0).memory().heapUsed()).isPositive();
+        }).verifyComplete();
+        StepVerifier.create(second.collectList())
+                .assertNext(samples -> assertThat(samples).containsAnyElementsOf(first.collectList().block()))
+                .verifyComplete();
+    }
+
+    @Test
+    void startsEveryStreamWithACurrentSample() {
+        StepVerifier.create(sampler.stream().take(1))
+                .assertNext(sample -> assertThat(sample.serverTime())
+                        .isGreaterThan(System.currentTimeMillis() - Duration.ofSeconds(1).toMillis()))
+                .verifyComplete();
+    }
+}
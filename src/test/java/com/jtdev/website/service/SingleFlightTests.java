@@ -0,0 +1,73 @@
+package com.jtdev.website.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTests {
+
+    private final SingleFlight<String> flights = new SingleFlight<>();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void concurrentCallersShareOneExecution() {
+        Sinks.One<String> render = Sinks.one();
+        List<String> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            flights.execute("About.md", () -> counted(render.asMono())).subscribe(results::add);
+        }
+
+        render.tryEmitValue("rendered");
+
+        assertThat(executions).hasValue(1);
+        assertThat(results).hasSize(10).containsOnly("rendered");
+        assertThat(flights.joinedCount()).isEqualTo(9);
+        assertThat(flights.inFlightCount()).isZero();
+    }
+
+    @Test
+    void errorsReachEveryWaitingCallerButAreNotKept() {
+        Sinks.One<String> render = Sinks.one();
+        AtomicReference<Throwable> first = new AtomicReference<>();
+        AtomicReference<Throwable> second = new AtomicReference<>();
+        flights.execute("About.md", () -> counted(render.asMono())).subscribe(v -> { }, first::set);
+        flights.execute("About.md", () -> counted(render.asMono())).subscribe(v -> { }, second::set);
+
+        render.tryEmitError(new IllegalStateException("render failed"));
+
+        assertThat(first.get()).hasMessage("render failed");
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(flights.execute("About.md", () -> counted(Mono.just("retried"))).block()).isEqualTo("retried");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void workIsCancelledOnlyWhenEveryCallerHasGone() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<String> never = Mono.<String>never().doOnCancel(() -> cancelled.set(true));
+        Disposable first = flights.execute("About.md", () -> counted(never)).subscribe();
+        Disposable second = flights.execute("About.md", () -> counted(never)).subscribe();
+
+        first.dispose();
+        assertThat(cancelled).isFalse();
+        second.dispose();
+
+        assertThat(cancelled).isTrue();
+        assertThat(flights.inFlightCount()).isZero();
+        assertThat(executions).hasValue(1);
+    }
+
+    private Mono<String> counted(Mono<String> work) {
+        executions.incrementAndGet();
+        return work;
+    }
+}